@@ -0,0 +1,324 @@
+package com.gimsieder.skillingoutfit;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.implementation.StubMethod;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.runelite.api.Client;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.game.ItemManager;
+import net.runelite.client.util.AsyncBufferedImage;
+import org.mockito.Mockito;
+import org.objenesis.ObjenesisStd;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Stand-ins for the client objects the tracker and panel talk to. Interfaces are
+ * allocation free proxies that answer only the calls the plugin makes. ConfigManager is
+ * a generated subclass whose setConfiguration methods are empty, so a write costs the
+ * plugin's own work plus one virtual call rather than a mock recording the invocation.
+ */
+final class SkillingOutfitFakes
+{
+	static final int BANK_SIZE = 800;
+	static final int INVENTORY_SIZE = 28;
+	static final int EQUIPMENT_SIZE = 11;
+
+	private SkillingOutfitFakes()
+	{
+	}
+
+	// ======== CONTAINERS ========
+	static final class FakeContainer implements InvocationHandler
+	{
+		final int id;
+		Item[] items;
+		final ItemContainer container;
+
+		FakeContainer(InventoryID inventoryId, Item[] items)
+		{
+			this(inventoryId.getId(), items);
+		}
+
+		FakeContainer(int id, Item[] items)
+		{
+			this.id = id;
+			this.items = items;
+			this.container = (ItemContainer) Proxy.newProxyInstance(ItemContainer.class.getClassLoader(), new Class<?>[]{ItemContainer.class}, this);
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args)
+		{
+			switch (method.getName())
+			{
+				case "getItems": return items;
+				case "getId": return id;
+				case "size":
+				case "count": return items.length;
+				default: throw new UnsupportedOperationException(method.getName());
+			}
+		}
+	}
+
+	// A bank of BANK_SIZE stacks: every tracked item once if withTracked, topped up with untracked IDs
+	static Item[] bank(long seed, boolean withTracked)
+	{
+		Random random = new Random(seed);
+		Item[] items = new Item[BANK_SIZE];
+		int n = 0;
+		for (int slot = 0; withTracked && slot < SkillingOutfitCatalog.slotCount() && n < BANK_SIZE; slot++)
+			items[n++] = new Item(SkillingOutfitCatalog.slotItemId(slot), 1 + random.nextInt(500));
+		while (n < BANK_SIZE)
+			items[n++] = new Item(untracked(random), 1 + random.nextInt(10_000));
+		return items;
+	}
+
+	// Same bank with a few stacks moved, as after a deposit or withdrawal
+	static Item[] bankAfterDeposit(Item[] bank, long seed)
+	{
+		Random random = new Random(seed);
+		Item[] items = bank.clone();
+		for (int i = 0; i < 4; i++)
+		{
+			int slot = random.nextInt(SkillingOutfitCatalog.slotCount());
+			items[slot] = new Item(items[slot].getId(), items[slot].getQuantity() + 1 + random.nextInt(50));
+		}
+		return items;
+	}
+
+	// A skilling inventory: a currency stack, a couple of pieces, the rest untracked
+	static Item[] inventory(long seed)
+	{
+		Random random = new Random(seed);
+		Item[] items = new Item[INVENTORY_SIZE];
+		items[0] = new Item(SkillingOutfitCurrency.MARKS_OF_GRACE.getItemId(), 1 + random.nextInt(200));
+		items[1] = new Item(SkillingOutfitCatalog.itemId(random.nextInt(SkillingOutfitCatalog.itemCount())), 1);
+		items[2] = new Item(SkillingOutfitCatalog.itemId(random.nextInt(SkillingOutfitCatalog.itemCount())), 1);
+		for (int i = 3; i < INVENTORY_SIZE; i++)
+			items[i] = new Item(untracked(random), 1);
+		return items;
+	}
+
+	// Worn outfit pieces in a few slots, untracked gear elsewhere
+	static Item[] equipment(long seed)
+	{
+		Random random = new Random(seed);
+		Item[] items = new Item[EQUIPMENT_SIZE];
+		int first = SkillingOutfitCatalog.firstItem(random.nextInt(SkillingOutfitCatalog.outfitCount()));
+		for (int i = 0; i < EQUIPMENT_SIZE; i++)
+			items[i] = i < 3 ? new Item(SkillingOutfitCatalog.itemId(first + Math.min(i, 1)), 1) : new Item(untracked(random), 1);
+		return items;
+	}
+
+	private static int untracked(Random random)
+	{
+		int id;
+		do
+		{
+			id = 1 + random.nextInt(30_000);
+		}
+		while (SkillingOutfitCatalog.isTracked(id));
+		return id;
+	}
+
+	// ======== CLIENT ========
+	static final class FakeClient implements InvocationHandler
+	{
+		final Map<Integer, FakeContainer> containers = new HashMap<>();
+		final Map<Integer, Integer> varps = new HashMap<>();
+		final Map<Integer, Integer> varbits = new HashMap<>();
+		final Client client;
+
+		FakeClient(FakeContainer... containers)
+		{
+			for (FakeContainer container : containers)
+				this.containers.put(container.id, container);
+			this.client = (Client) Proxy.newProxyInstance(Client.class.getClassLoader(), new Class<?>[]{Client.class}, this);
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args)
+		{
+			switch (method.getName())
+			{
+				case "getItemContainer":
+					Object key = args[0];
+					FakeContainer container = containers.get(key instanceof InventoryID ? ((InventoryID) key).getId() : (Integer) key);
+					return container == null ? null : container.container;
+				case "getVarpValue":
+					return varps.getOrDefault((Integer) args[0], 0);
+				case "getVarbitValue":
+					return varbits.getOrDefault((Integer) args[0], 0);
+				case "getTickCount":
+					return 0;
+				case "isClientThread":
+					return true;
+				case "getLocalPlayer":
+				case "addChatMessage":
+					return null;
+				default:
+					throw new UnsupportedOperationException(method.getName());
+			}
+		}
+	}
+
+	static Client client(FakeContainer... containers)
+	{
+		return new FakeClient(containers).client;
+	}
+
+	// Runs everything inline on the calling thread
+	static ClientThread clientThread()
+	{
+		return new ClientThread()
+		{
+			@Override
+			public void invoke(Runnable r)
+			{
+				r.run();
+			}
+
+			@Override
+			public void invokeLater(Runnable r)
+			{
+				r.run();
+			}
+		};
+	}
+
+	// ======== CONFIG ========
+	// Empty profile: every lookup misses and writes are dropped
+	static ConfigManager configManager()
+	{
+		return configManager(new HashMap<>());
+	}
+
+	// Plain getConfiguration(group, key) lookups are answered from values, by key; typed lookups miss.
+	// Reads only happen while the tracker and panel are built, so they may go through a handler
+	static ConfigManager configManager(Map<String, String> values)
+	{
+		InvocationHandler reads = (proxy, method, args) -> args.length == 2 ? values.get((String) args[1]) : null;
+		// ConfigManager's constructor wants the client's injected services and changes between
+		// client versions, so the subclass declares none and is instantiated without one
+		Class<? extends ConfigManager> type = new ByteBuddy()
+			.subclass(ConfigManager.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+			.method(ElementMatchers.named("setConfiguration"))
+			.intercept(StubMethod.INSTANCE)
+			.method(ElementMatchers.named("getConfiguration"))
+			.intercept(InvocationHandlerAdapter.of(reads))
+			.make()
+			.load(ConfigManager.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+			.getLoaded();
+		return new ObjenesisStd().newInstance(type);
+	}
+
+	// Every outfit's display toggle switched on
+	static Map<String, String> allOutfitsDisplayed()
+	{
+		Map<String, String> values = new HashMap<>();
+		for (int outfit = 0; outfit < SkillingOutfitCatalog.outfitCount(); outfit++)
+			values.put(SkillingOutfitCatalog.outfitConfigKey(outfit), "true");
+		return values;
+	}
+
+	// ======== SPRITES ========
+	// Hands out a flat coloured 36x32 sprite per item, the size the client's item images come in
+	static ItemManager itemManager()
+	{
+		return Mockito.mock(ItemManager.class, Mockito.withSettings().stubOnly().defaultAnswer(invocation ->
+		{
+			if (invocation.getMethod().getName().equals("getImage"))
+				return sprite((Integer) invocation.getArgument(0));
+			return Mockito.RETURNS_DEFAULTS.answer(invocation);
+		}));
+	}
+
+	// AsyncBufferedImage's leading constructor arguments differ between client versions; the last three are always width, height, type
+	private static AsyncBufferedImage sprite(int itemId) throws ReflectiveOperationException
+	{
+		for (Constructor<?> constructor : AsyncBufferedImage.class.getConstructors())
+		{
+			Class<?>[] params = constructor.getParameterTypes();
+			int n = params.length;
+			if (n < 3 || params[n - 1] != int.class || params[n - 2] != int.class || params[n - 3] != int.class)
+				continue;
+
+			Object[] args = new Object[n];
+			args[n - 3] = 36;
+			args[n - 2] = 32;
+			args[n - 1] = BufferedImage.TYPE_INT_ARGB;
+			AsyncBufferedImage image = (AsyncBufferedImage) constructor.newInstance(args);
+
+			Graphics2D g = image.createGraphics();
+			g.setColor(new Color(Color.HSBtoRGB((itemId % 97) / 97f, 0.6f, 0.9f)));
+			g.fillOval(4, 2, 28, 28);
+			g.dispose();
+			return image;
+		}
+		throw new IllegalStateException("No AsyncBufferedImage(..., width, height, type) constructor");
+	}
+
+	// Returns each config item's declared default, resolved once per item so reads do not allocate
+	static SkillingOutfitConfig config()
+	{
+		return config(new HashMap<>());
+	}
+
+	// Items named in overrides (by method name) answer the given value instead of their default
+	static SkillingOutfitConfig config(Map<String, Object> overrides)
+	{
+		Map<Method, Object> values = new HashMap<>();
+		InvocationHandler handler = (proxy, method, args) ->
+		{
+			if (!method.isDefault() || method.getParameterCount() != 0)
+				throw new UnsupportedOperationException(method.getName());
+
+			Object value = values.get(method);
+			if (value == null)
+			{
+				value = overrides.containsKey(method.getName())
+					? overrides.get(method.getName())
+					: MethodHandles.privateLookupIn(SkillingOutfitConfig.class, MethodHandles.lookup())
+						.unreflectSpecial(method, SkillingOutfitConfig.class)
+						.invoke(proxy);
+				values.put(method, value);
+			}
+			return value;
+		};
+		return (SkillingOutfitConfig) Proxy.newProxyInstance(SkillingOutfitConfig.class.getClassLoader(), new Class<?>[]{SkillingOutfitConfig.class}, handler);
+	}
+
+	// ======== INJECTION ========
+	// Sets a field Guice would normally inject
+	static void inject(Object target, String fieldName, Object value)
+	{
+		try
+		{
+			Field field = target.getClass().getDeclaredField(fieldName);
+			field.setAccessible(true);
+			field.set(target, value);
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new IllegalStateException("Unable to inject " + fieldName, e);
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.gimsieder.skillingoutfit;
+
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import net.runelite.client.ui.PluginPanel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless panel rendering: every outfit displayed and obtained pieces shown, with the
+ * bank holding either every piece or none of them, painted into an offscreen image the
+ * height of the full layout. build.gradle runs the jmh task with java.awt.headless=true.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SkillingOutfitPanelBenchmark
+{
+	@Param({"true", "false"})
+	public boolean owned;
+
+	private SkillingOutfitTracker tracker;
+	private SkillingOutfitPanel panel;
+	private BufferedImage target;
+	private int hoverItem;
+
+	@Setup
+	public void setup()
+	{
+		SkillingOutfitFakes.FakeContainer bank = new SkillingOutfitFakes.FakeContainer(InventoryID.BANK, SkillingOutfitFakes.bank(1, owned));
+		SkillingOutfitFakes.FakeContainer inventory = new SkillingOutfitFakes.FakeContainer(InventoryID.INVENTORY, new Item[0]);
+		SkillingOutfitFakes.FakeContainer equipment = new SkillingOutfitFakes.FakeContainer(InventoryID.EQUIPMENT, new Item[0]);
+
+		SkillingOutfitFakes.FakeContainer[] containers = {bank, inventory, equipment};
+		// Owned pieces are hidden by default, which would leave the owned run painting an almost empty panel
+		SkillingOutfitConfig config = SkillingOutfitFakes.config(Collections.singletonMap("showObtainedItems", true));
+		tracker = new SkillingOutfitTracker(
+			SkillingOutfitFakes.client(containers),
+			SkillingOutfitFakes.clientThread(),
+			SkillingOutfitFakes.configManager(),
+			config,
+			null);
+		tracker.updateAllCaches();
+
+		panel = new SkillingOutfitPanel(
+			SkillingOutfitFakes.client(containers),
+			SkillingOutfitFakes.itemManager(),
+			tracker,
+			config,
+			SkillingOutfitFakes.configManager(SkillingOutfitFakes.allOutfitsDisplayed()),
+			null,
+			SkillingOutfitFakes.clientThread());
+		panel.setSize(PluginPanel.PANEL_WIDTH, 800);
+
+		Dimension size = panel.calculatePreferredSize();
+		target = new BufferedImage(PluginPanel.PANEL_WIDTH, size.height, BufferedImage.TYPE_INT_ARGB);
+
+		SkillingOutfitLayout layout = panel.currentLayout();
+		if (layout.getIconCount() == 0)
+			throw new IllegalStateException("Layout has no icons to paint");
+
+		hoverItem = 0;
+		while (layout.iconBounds(hoverItem) == null)
+			hoverItem++;
+		panel.updateHover(hoverItem, -1);
+		paint();
+		if (!panel.isHoverVisible())
+			throw new IllegalStateException("Hovering item " + hoverItem + " shows no tooltip");
+		panel.updateHover(-1, -1);
+	}
+
+	// Steady state: layout and section images are cached, the whole panel is exposed
+	@Benchmark
+	public BufferedImage paintItems()
+	{
+		paint();
+		return target;
+	}
+
+	// A new tracker state forces the layout and its section images to be rebuilt
+	@Benchmark
+	public BufferedImage paintItemsAfterStateChange()
+	{
+		tracker.publishState();
+		paint();
+		return target;
+	}
+
+	// Hover moving between an item and nothing, each followed by a paint with the tooltip up or cleared
+	@Benchmark
+	public BufferedImage paintItemsWithHover()
+	{
+		panel.updateHover(hoverItem, -1);
+		paint();
+		panel.updateHover(-1, -1);
+		paint();
+		return target;
+	}
+
+	@Benchmark
+	public Dimension calculatePreferredSize()
+	{
+		return panel.calculatePreferredSize();
+	}
+
+	@Benchmark
+	public Dimension calculatePreferredSizeAfterStateChange()
+	{
+		tracker.publishState();
+		return panel.calculatePreferredSize();
+	}
+
+	private void paint()
+	{
+		Graphics2D g = target.createGraphics();
+		try
+		{
+			g.setClip(0, 0, target.getWidth(), target.getHeight());
+			panel.paintItems(g);
+		}
+		finally
+		{
+			g.dispose();
+		}
+	}
+}
@@ -0,0 +1,230 @@
+package com.gimsieder.skillingoutfit;
+
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.GameState;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.ui.PluginPanel;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A recorded session decoded up front into ready-made events, so replaying it measures
+ * only the plugin. A container step swaps the fake container's contents before posting
+ * its event, and a varbit step sets the value the fake client reports, mirroring what
+ * the live client would return when the plugin reads them back.
+ */
+final class SkillingOutfitReplay implements SkillingOutfitEventRecorder.Visitor
+{
+	private static final GameTick GAME_TICK = new GameTick();
+
+	interface Step
+	{
+		void replay(Session session);
+	}
+
+	// A fresh plugin wired to fakes, as after login with an empty profile
+	static final class Session
+	{
+		final SkillingOutfitFakes.FakeClient client;
+		final SkillingOutfitTracker tracker;
+		final SkillingOutfitPlugin plugin;
+
+		Session()
+		{
+			client = new SkillingOutfitFakes.FakeClient(
+				new SkillingOutfitFakes.FakeContainer(InventoryID.INVENTORY, new Item[0]),
+				new SkillingOutfitFakes.FakeContainer(InventoryID.EQUIPMENT, new Item[0]),
+				new SkillingOutfitFakes.FakeContainer(InventoryID.BANK, new Item[0]));
+			SkillingOutfitConfig config = SkillingOutfitFakes.config();
+			tracker = new SkillingOutfitTracker(client.client, SkillingOutfitFakes.clientThread(), SkillingOutfitFakes.configManager(), config, null);
+
+			SkillingOutfitPanel panel = new SkillingOutfitPanel(client.client, SkillingOutfitFakes.itemManager(), tracker, config,
+				SkillingOutfitFakes.configManager(SkillingOutfitFakes.allOutfitsDisplayed()), null, SkillingOutfitFakes.clientThread());
+			panel.setSize(PluginPanel.PANEL_WIDTH, 800);
+
+			plugin = new SkillingOutfitPlugin();
+			SkillingOutfitFakes.inject(plugin, "client", client.client);
+			SkillingOutfitFakes.inject(plugin, "tracker", tracker);
+			SkillingOutfitFakes.inject(plugin, "clientThread", SkillingOutfitFakes.clientThread());
+			SkillingOutfitFakes.inject(plugin, "config", config);
+			SkillingOutfitFakes.inject(plugin, "configManager", SkillingOutfitFakes.configManager());
+			SkillingOutfitFakes.inject(plugin, "panel", panel);
+		}
+	}
+
+	private final List<Step> steps = new ArrayList<>();
+
+	private SkillingOutfitReplay()
+	{
+	}
+
+	static SkillingOutfitReplay load(File recording) throws IOException
+	{
+		SkillingOutfitReplay replay = new SkillingOutfitReplay();
+		SkillingOutfitEventRecorder.read(recording, replay);
+		return replay;
+	}
+
+	int size()
+	{
+		return steps.size();
+	}
+
+	void replayAll(Session session)
+	{
+		for (Step step : steps)
+			step.replay(session);
+	}
+
+	void replay(Session session, int index)
+	{
+		steps.get(index).replay(session);
+	}
+
+	// ======== DECODING ========
+	@Override
+	public void tick(long millis)
+	{
+		steps.add(session -> session.plugin.onGameTick(GAME_TICK));
+	}
+
+	@Override
+	public void container(long millis, int containerId, int[] itemIds, int[] quantities)
+	{
+		Item[] items = new Item[itemIds.length];
+		for (int i = 0; i < items.length; i++)
+			items[i] = new Item(itemIds[i], quantities[i]);
+		ItemContainerChanged event = new ItemContainerChanged(containerId, new SkillingOutfitFakes.FakeContainer(containerId, items).container);
+
+		steps.add(session ->
+		{
+			SkillingOutfitFakes.FakeContainer live = session.client.containers.get(containerId);
+			if (live != null)
+				live.items = items;
+			session.plugin.onItemContainerChanged(event);
+		});
+	}
+
+	@Override
+	public void chat(long millis, String type, String message)
+	{
+		ChatMessage event = new ChatMessage();
+		try
+		{
+			event.setType(ChatMessageType.valueOf(type));
+		}
+		catch (IllegalArgumentException e)
+		{
+			// Type from a newer client, the plugin would ignore it anyway
+			return;
+		}
+		event.setMessage(message);
+		steps.add(session -> session.plugin.onChatMessage(event));
+	}
+
+	@Override
+	public void varbit(long millis, int varpId, int varbitId, int value)
+	{
+		VarbitChanged event = new VarbitChanged();
+		event.setVarpId(varpId);
+		event.setVarbitId(varbitId);
+		event.setValue(value);
+
+		steps.add(session ->
+		{
+			if (varbitId >= 0)
+				session.client.varbits.put(varbitId, value);
+			else
+				session.client.varps.put(varpId, value);
+			session.plugin.onVarbitChanged(event);
+		});
+	}
+
+	@Override
+	public void gameState(long millis, String state)
+	{
+		GameStateChanged event = new GameStateChanged();
+		try
+		{
+			event.setGameState(GameState.valueOf(state));
+		}
+		catch (IllegalArgumentException e)
+		{
+			return;
+		}
+		steps.add(session -> session.plugin.onGameStateChanged(event));
+	}
+
+	// ======== SYNTHETIC SESSION ========
+	// Stand-in for a recorded Wintertodt run when no recording is given: login, a full bank, an inventory
+	// churning every few ticks, background varbit noise, spam and a subdued count every few hundred ticks
+	static SkillingOutfitReplay synthetic(int ticks, long seed)
+	{
+		Random random = new Random(seed);
+		SkillingOutfitReplay replay = new SkillingOutfitReplay();
+		long millis = 0;
+
+		replay.gameState(millis, GameState.LOGGED_IN.name());
+		Item[] bank = SkillingOutfitFakes.bank(seed, true);
+		Item[] inventory = SkillingOutfitFakes.inventory(seed);
+		replay.container(millis, InventoryID.BANK.getId(), ids(bank), quantities(bank));
+		replay.container(millis, InventoryID.INVENTORY.getId(), ids(inventory), quantities(inventory));
+
+		int subdued = 0;
+		for (int tick = 0; tick < ticks; tick++, millis += 600)
+		{
+			for (int i = 0; i < 10; i++)
+				replay.varbit(millis, 1000 + random.nextInt(2000), 5000 + random.nextInt(4000), random.nextInt(100));
+
+			if (tick % 3 == 0)
+			{
+				// A log chopped or burnt
+				inventory = inventory.clone();
+				int slot = 3 + random.nextInt(inventory.length - 3);
+				inventory[slot] = new Item(inventory[slot].getId(), random.nextBoolean() ? 1 : 0);
+				replay.container(millis, InventoryID.INVENTORY.getId(), ids(inventory), quantities(inventory));
+				replay.chat(millis, ChatMessageType.SPAM.name(), "You get some bruma roots.");
+			}
+
+			if (tick % 400 == 399)
+				replay.chat(millis, ChatMessageType.GAMEMESSAGE.name(), "Your subdued Wintertodt count is: <col=ff0000>" + ++subdued + "</col>.");
+
+			if (tick % 3000 == 2999)
+			{
+				bank = SkillingOutfitFakes.bankAfterDeposit(bank, seed + tick);
+				replay.container(millis, InventoryID.BANK.getId(), ids(bank), quantities(bank));
+			}
+
+			replay.tick(millis);
+		}
+
+		replay.gameState(millis, GameState.LOGIN_SCREEN.name());
+		return replay;
+	}
+
+	private static int[] ids(Item[] items)
+	{
+		int[] ids = new int[items.length];
+		for (int i = 0; i < items.length; i++)
+			ids[i] = items[i].getId();
+		return ids;
+	}
+
+	private static int[] quantities(Item[] items)
+	{
+		int[] quantities = new int[items.length];
+		for (int i = 0; i < items.length; i++)
+			quantities[i] = items[i].getQuantity();
+		return quantities;
+	}
+}
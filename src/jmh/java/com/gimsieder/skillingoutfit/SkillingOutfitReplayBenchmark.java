@@ -0,0 +1,69 @@
+package com.gimsieder.skillingoutfit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end replay of a recorded session through the plugin's event handlers, as fast
+ * as they will go. Record one with the Record Events option, then run
+ * ./gradlew jmh -PjmhIncludes=Replay -Precording=path/to/session.sor; without one a
+ * synthetic three hour Wintertodt session is replayed instead.
+ */
+@State(Scope.Thread)
+public class SkillingOutfitReplayBenchmark
+{
+	// Path to a .sor recording; empty falls back to -Dskillingoutfit.recording, then the synthetic session
+	@Param("")
+	public String recording;
+
+	private SkillingOutfitReplay replay;
+	private SkillingOutfitReplay.Session session;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void load() throws IOException
+	{
+		String path = recording.isEmpty() ? System.getProperty("skillingoutfit.recording", "") : recording;
+		// 18000 ticks of 0.6s = 3 hours
+		replay = path.isEmpty() ? SkillingOutfitReplay.synthetic(18_000, 1) : SkillingOutfitReplay.load(new File(path));
+	}
+
+	// Every iteration starts from a fresh plugin so session times are comparable run to run
+	@Setup(Level.Iteration)
+	public void login()
+	{
+		session = new SkillingOutfitReplay.Session();
+		next = 0;
+	}
+
+	// Wall time for the whole session
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void replaySession()
+	{
+		replay.replayAll(session);
+	}
+
+	// Per event latency distribution (p50 / p99 / max), cycling through the session
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void replayEvent()
+	{
+		replay.replay(session, next);
+		if (++next == replay.size())
+			next = 0;
+	}
+}
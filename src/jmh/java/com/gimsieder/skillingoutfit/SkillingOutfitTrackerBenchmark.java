@@ -0,0 +1,89 @@
+package com.gimsieder.skillingoutfit;
+
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracker ingestion and ownership paths against an 800 slot bank, a 28 slot inventory
+ * and 11 equipment slots. Run with ./gradlew jmh; the gc profiler configured in
+ * build.gradle adds the allocation rate next to each throughput figure.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SkillingOutfitTrackerBenchmark
+{
+	private SkillingOutfitTracker tracker;
+	private SkillingOutfitFakes.FakeContainer bank;
+	private Item[] bankBefore;
+	private Item[] bankAfter;
+	private boolean deposited;
+	private int[] costItemIds;
+
+	@Setup
+	public void setup()
+	{
+		bankBefore = SkillingOutfitFakes.bank(1, true);
+		bankAfter = SkillingOutfitFakes.bankAfterDeposit(bankBefore, 2);
+		bank = new SkillingOutfitFakes.FakeContainer(InventoryID.BANK, bankBefore);
+		SkillingOutfitFakes.FakeContainer inventory = new SkillingOutfitFakes.FakeContainer(InventoryID.INVENTORY, SkillingOutfitFakes.inventory(3));
+		SkillingOutfitFakes.FakeContainer equipment = new SkillingOutfitFakes.FakeContainer(InventoryID.EQUIPMENT, SkillingOutfitFakes.equipment(4));
+
+		tracker = new SkillingOutfitTracker(
+			SkillingOutfitFakes.client(bank, inventory, equipment),
+			SkillingOutfitFakes.clientThread(),
+			SkillingOutfitFakes.configManager(),
+			SkillingOutfitFakes.config(),
+			null);
+		tracker.updateAllCaches();
+		costItemIds = SkillingOutfitCatalog.costItemIds();
+	}
+
+	// Full rescan of all three containers with nothing changed since the last one
+	@Benchmark
+	public SkillingOutfitTrackerState updateAllCaches()
+	{
+		tracker.updateAllCaches();
+		return tracker.getState();
+	}
+
+	// One bank event moving a few tracked stacks, the common in-game path
+	@Benchmark
+	public boolean applyBankChange()
+	{
+		deposited = !deposited;
+		bank.items = deposited ? bankAfter : bankBefore;
+		return tracker.applyContainerChange(bank.id, bank.container);
+	}
+
+	@Benchmark
+	public SkillingOutfitTrackerState updateOwnedItemsFromCaches()
+	{
+		tracker.updateOwnedItemsFromCaches();
+		return tracker.getState();
+	}
+
+	@Benchmark
+	public SkillingOutfitTrackerState updateOwnedItems()
+	{
+		tracker.updateOwnedItems();
+		return tracker.getState();
+	}
+
+	@Benchmark
+	public void getTotalCostItem(Blackhole blackhole)
+	{
+		for (int costItemId : costItemIds)
+			blackhole.consume(tracker.getTotalCostItem(costItemId));
+	}
+}
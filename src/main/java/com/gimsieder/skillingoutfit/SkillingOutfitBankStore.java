@@ -0,0 +1,184 @@
+package com.gimsieder.skillingoutfit;
+
+import net.runelite.client.config.ConfigManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Persists the bank stripe of the tracker's slot counts to config. Changes only mark the store dirty; the
+ * tracker flushes at most once per configured interval, or straight away on bank
+ * close and logout. The payload is a sorted, gap-encoded varint list in Base64 and
+ * is skipped entirely when it matches what was last written.
+ */
+final class SkillingOutfitBankStore
+{
+	static final String KEY = "bankCache";
+	private static final String PREFIX = "v2:";
+
+	private final ConfigManager configManager;
+	private final String configGroup;
+	private final SkillingOutfitMetrics metrics;
+
+	private byte[] lastWritten = new byte[0];
+	private boolean dirty;
+	private long lastFlushMillis;
+
+	SkillingOutfitBankStore(ConfigManager configManager, String configGroup, SkillingOutfitMetrics metrics)
+	{
+		this.configManager = configManager;
+		this.configGroup = configGroup;
+		this.metrics = metrics;
+	}
+
+	void markDirty()
+	{
+		dirty = true;
+	}
+
+	// ======== FLUSHING ========
+	boolean flushIfDue(SkillingOutfitSlotCounts counts, long intervalMillis, long nowMillis)
+	{
+		if (!dirty || nowMillis - lastFlushMillis < intervalMillis)
+			return false;
+		return flush(counts, nowMillis);
+	}
+
+	// Returns true only if a config write was actually issued
+	boolean flush(SkillingOutfitSlotCounts counts, long nowMillis)
+	{
+		if (!dirty)
+			return false;
+
+		dirty = false;
+		lastFlushMillis = nowMillis;
+
+		// An empty stripe is still written, otherwise the last non-empty bank comes back on the next load
+		byte[] encoded = encode(counts);
+		if (Arrays.equals(encoded, lastWritten))
+			return false;
+
+		lastWritten = encoded;
+		String value = PREFIX + Base64.getEncoder().encodeToString(encoded);
+		SkillingOutfitFlightEvents.ConfigWrite event = new SkillingOutfitFlightEvents.ConfigWrite();
+		event.begin();
+		long start = metrics.begin(SkillingOutfitMetrics.CONFIG_WRITE);
+		configManager.setConfiguration(configGroup, KEY, value);
+		metrics.end(SkillingOutfitMetrics.CONFIG_WRITE, start);
+		SkillingOutfitFlightEvents.commitConfigWrite(event, KEY, value);
+		return true;
+	}
+
+	// ======== LOADING ========
+	void load(SkillingOutfitSlotCounts counts)
+	{
+		String saved = configManager.getConfiguration(configGroup, KEY);
+		if (saved == null || saved.isEmpty())
+			return;
+
+		SkillingOutfitIntMap into = new SkillingOutfitIntMap(64);
+		if (saved.startsWith(PREFIX))
+		{
+			try
+			{
+				byte[] data = Base64.getDecoder().decode(saved.substring(PREFIX.length()));
+				decode(data, into);
+				lastWritten = data;
+				dirty = transfer(into, counts);
+			}
+			catch (IllegalArgumentException | IOException ignored)
+			{
+			}
+			return;
+		}
+
+		// Legacy "id:qty,id:qty" form, rewritten in the compact form on the next flush
+		for (String pair : saved.split(","))
+		{
+			String[] parts = pair.split(":");
+			if (parts.length != 2)
+				continue;
+			try
+			{
+				int itemId = Integer.parseInt(parts[0]);
+				int qty = Integer.parseInt(parts[1]);
+				if (SkillingOutfitCatalog.isTracked(itemId))
+					into.put(itemId, qty);
+			}
+			catch (NumberFormatException ignored) {}
+		}
+		transfer(into, counts);
+		dirty = true;
+	}
+
+	// Moves decoded quantities into the bank stripe. Anything outside the catalog interest set,
+	// e.g. a full bank saved by an older version, is dropped and reported so it gets rewritten
+	private static boolean transfer(SkillingOutfitIntMap decoded, SkillingOutfitSlotCounts counts)
+	{
+		int[] fill = counts.beginFill();
+		boolean untracked = false;
+		for (int i = 0; i < decoded.capacity(); i++)
+		{
+			if (!decoded.isUsed(i)) continue;
+			int slot = SkillingOutfitCatalog.slotOf(decoded.keyAt(i));
+			if (slot < 0)
+				untracked = true;
+			else
+				fill[slot] = decoded.valueAt(i);
+		}
+		counts.commit(SkillingOutfitSlotCounts.BANK, new int[SkillingOutfitCatalog.slotCount()]);
+		return untracked;
+	}
+
+	// ======== ENCODING ========
+	// count, then per entry: item ID gap from the previous ID, quantity. Slots are in ascending ID order
+	static byte[] encode(SkillingOutfitSlotCounts counts)
+	{
+		int entries = 0;
+		for (int slot = 0; slot < SkillingOutfitCatalog.slotCount(); slot++)
+			if (counts.get(SkillingOutfitSlotCounts.BANK, slot) != 0)
+				entries++;
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(entries * 4 + 5);
+		DataOutputStream out = new DataOutputStream(bytes);
+		try
+		{
+			SkillingOutfitVarints.write(out, entries);
+			int previous = 0;
+			for (int slot = 0; slot < SkillingOutfitCatalog.slotCount(); slot++)
+			{
+				int qty = counts.get(SkillingOutfitSlotCounts.BANK, slot);
+				if (qty == 0) continue;
+				int id = SkillingOutfitCatalog.slotItemId(slot);
+				SkillingOutfitVarints.write(out, id - previous);
+				SkillingOutfitVarints.write(out, qty);
+				previous = id;
+			}
+		}
+		catch (IOException e)
+		{
+			// In-memory stream, never thrown
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	// Throws an IOException (EOFException) on a truncated payload
+	static void decode(byte[] data, SkillingOutfitIntMap into) throws IOException
+	{
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+		int count = SkillingOutfitVarints.read(in);
+		int id = 0;
+		for (int i = 0; i < count; i++)
+		{
+			id += SkillingOutfitVarints.read(in);
+			into.put(id, SkillingOutfitVarints.read(in));
+		}
+	}
+}
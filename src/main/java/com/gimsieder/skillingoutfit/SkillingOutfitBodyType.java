@@ -0,0 +1,17 @@
+package com.gimsieder.skillingoutfit;
+
+/**
+ * Which player body type an outfit applies to. Most outfits fit both; the Farmer's
+ * outfit has separate pieces per body type.
+ */
+public enum SkillingOutfitBodyType
+{
+	ANY,
+	MALE,
+	FEMALE;
+
+	public boolean matches(boolean female)
+	{
+		return this == ANY || (this == FEMALE) == female;
+	}
+}
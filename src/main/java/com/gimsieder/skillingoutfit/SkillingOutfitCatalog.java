@@ -0,0 +1,208 @@
+package com.gimsieder.skillingoutfit;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable catalog compiled once from the {@link SkillingOutfitData} tables. Every
+ * outfit and every piece gets a dense index; piece attributes and extra costs live in
+ * flat arrays so trackers and renderers work on ints instead of string keyed maps.
+ *
+ * Items of outfit o occupy [firstItem(o), firstItem(o + 1)) in piece order, and the
+ * extra costs of item i occupy [firstExtraCost(i), firstExtraCost(i + 1)).
+ *
+ * Every tracked item ID is also remapped to a dense slot 0..slotCount() - 1, assigned
+ * in ascending ID order, so per-source quantities and flags can live in flat arrays.
+ */
+public final class SkillingOutfitCatalog
+{
+	// ======== OUTFITS ========
+	private static final String[] OUTFIT_NAMES;
+	private static final String[] OUTFIT_CONFIG_KEYS;
+	private static final String[] OUTFIT_WIKI_URLS;
+	private static final String[] OUTFIT_SKILLS;
+	private static final SkillingOutfitBodyType[] OUTFIT_BODY_TYPES;
+	private static final int[] OUTFIT_FIRST_ITEM;
+
+	// ======== ITEMS ========
+	private static final SkillingOutfitItem[] ITEMS;
+	private static final int[] ITEM_IDS;
+	private static final int[] ITEM_REQUIREMENTS;
+	private static final int[] ITEM_COST_IDS;
+	private static final int[] ITEM_OUTFIT;
+	private static final int[] ITEM_PIECE;
+
+	// ======== EXTRA COSTS ========
+	private static final int[] ITEM_FIRST_EXTRA_COST;
+	private static final int[] EXTRA_COST_IDS;
+	private static final int[] EXTRA_COST_AMOUNTS;
+	private static final String[] EXTRA_COST_NAMES;
+
+	// Any item ID (main piece or recolour / variant) -> item index
+	private static final SkillingOutfitIntMap VARIANT_INDEX = new SkillingOutfitIntMap(256);
+
+	// Interest set: every item ID the plugin reads from containers (pieces, variants, currencies, extra cost logs)
+	private static final BitSet TRACKED_IDS = new BitSet();
+
+	// Distinct currency item IDs (> 0) referenced by any piece
+	private static final int[] COST_ITEM_IDS;
+
+	// ======== SLOTS ========
+	private static final int[] SLOT_ITEM_IDS;
+	private static final SkillingOutfitIntMap SLOT_INDEX;
+
+	static
+	{
+		Map<String, SkillingOutfitData.SkillingOutfitDataEntry> outfits = SkillingOutfitData.OUTFITS_DATA;
+		int outfitCount = outfits.size();
+		int itemCount = 0;
+		for (SkillingOutfitData.SkillingOutfitDataEntry entry : outfits.values())
+			itemCount += entry.items.size();
+
+		OUTFIT_NAMES = new String[outfitCount];
+		OUTFIT_CONFIG_KEYS = new String[outfitCount];
+		OUTFIT_WIKI_URLS = new String[outfitCount];
+		OUTFIT_SKILLS = new String[outfitCount];
+		OUTFIT_BODY_TYPES = new SkillingOutfitBodyType[outfitCount];
+		OUTFIT_FIRST_ITEM = new int[outfitCount + 1];
+
+		ITEMS = new SkillingOutfitItem[itemCount];
+		ITEM_IDS = new int[itemCount];
+		ITEM_REQUIREMENTS = new int[itemCount];
+		ITEM_COST_IDS = new int[itemCount];
+		ITEM_OUTFIT = new int[itemCount];
+		ITEM_PIECE = new int[itemCount];
+		ITEM_FIRST_EXTRA_COST = new int[itemCount + 1];
+
+		List<SkillingOutfitItem.CostEntry> extraCosts = new ArrayList<>();
+		BitSet costIds = new BitSet();
+
+		int outfit = 0;
+		int index = 0;
+		for (Map.Entry<String, SkillingOutfitData.SkillingOutfitDataEntry> entry : outfits.entrySet())
+		{
+			SkillingOutfitData.SkillingOutfitDataEntry data = entry.getValue();
+			OUTFIT_NAMES[outfit] = entry.getKey();
+			OUTFIT_CONFIG_KEYS[outfit] = data.configKey;
+			OUTFIT_WIKI_URLS[outfit] = data.wikiUrl;
+			OUTFIT_SKILLS[outfit] = data.primarySkill;
+			OUTFIT_BODY_TYPES[outfit] = data.bodyType;
+			OUTFIT_FIRST_ITEM[outfit] = index;
+
+			int piece = 0;
+			for (SkillingOutfitItem item : data.items.values())
+			{
+				if (piece >= Long.SIZE)
+					throw new IllegalStateException("Outfit has more than 64 pieces: " + entry.getKey());
+
+				ITEMS[index] = item;
+				ITEM_IDS[index] = item.getItemId();
+				ITEM_REQUIREMENTS[index] = item.getRequirement();
+				ITEM_COST_IDS[index] = item.getCostItemId();
+				ITEM_OUTFIT[index] = outfit;
+				ITEM_PIECE[index] = piece++;
+
+				for (int id : item.getAllItemIds())
+				{
+					VARIANT_INDEX.put(id, index);
+					TRACKED_IDS.set(id);
+				}
+				if (item.getCostItemId() > 0)
+				{
+					TRACKED_IDS.set(item.getCostItemId());
+					costIds.set(item.getCostItemId());
+				}
+
+				ITEM_FIRST_EXTRA_COST[index] = extraCosts.size();
+				List<SkillingOutfitItem.CostEntry> extra = SkillingOutfitData.EXTRA_COSTS.get(item.getItemId());
+				if (extra != null)
+				{
+					for (SkillingOutfitItem.CostEntry cost : extra)
+					{
+						extraCosts.add(cost);
+						TRACKED_IDS.set(cost.getItemId());
+					}
+				}
+				index++;
+			}
+			outfit++;
+		}
+		OUTFIT_FIRST_ITEM[outfitCount] = index;
+		ITEM_FIRST_EXTRA_COST[itemCount] = extraCosts.size();
+
+		EXTRA_COST_IDS = new int[extraCosts.size()];
+		EXTRA_COST_AMOUNTS = new int[extraCosts.size()];
+		EXTRA_COST_NAMES = new String[extraCosts.size()];
+		for (int i = 0; i < extraCosts.size(); i++)
+		{
+			EXTRA_COST_IDS[i] = extraCosts.get(i).getItemId();
+			EXTRA_COST_AMOUNTS[i] = extraCosts.get(i).getAmount();
+			EXTRA_COST_NAMES[i] = extraCosts.get(i).getItemName();
+		}
+
+		COST_ITEM_IDS = costIds.stream().toArray();
+
+		SLOT_ITEM_IDS = TRACKED_IDS.stream().toArray();
+		SLOT_INDEX = new SkillingOutfitIntMap(SLOT_ITEM_IDS.length);
+		for (int slot = 0; slot < SLOT_ITEM_IDS.length; slot++)
+			SLOT_INDEX.put(SLOT_ITEM_IDS[slot], slot);
+	}
+
+	private SkillingOutfitCatalog()
+	{
+	}
+
+	// ======== OUTFITS ========
+	public static int outfitCount() { return OUTFIT_NAMES.length; }
+	public static String outfitName(int outfit) { return OUTFIT_NAMES[outfit]; }
+	public static String outfitConfigKey(int outfit) { return OUTFIT_CONFIG_KEYS[outfit]; }
+	public static String outfitWikiUrl(int outfit) { return OUTFIT_WIKI_URLS[outfit]; }
+	// Never null, "" when the outfit has no primary skill
+	public static String outfitSkill(int outfit) { return OUTFIT_SKILLS[outfit] == null ? "" : OUTFIT_SKILLS[outfit]; }
+	public static SkillingOutfitBodyType outfitBodyType(int outfit) { return OUTFIT_BODY_TYPES[outfit]; }
+	public static int firstItem(int outfit) { return OUTFIT_FIRST_ITEM[outfit]; }
+	public static int outfitSize(int outfit) { return OUTFIT_FIRST_ITEM[outfit + 1] - OUTFIT_FIRST_ITEM[outfit]; }
+
+	// ======== ITEMS ========
+	public static int itemCount() { return ITEMS.length; }
+	public static SkillingOutfitItem item(int itemIndex) { return ITEMS[itemIndex]; }
+	public static int itemId(int itemIndex) { return ITEM_IDS[itemIndex]; }
+	public static int itemRequirement(int itemIndex) { return ITEM_REQUIREMENTS[itemIndex]; }
+	public static int itemCostId(int itemIndex) { return ITEM_COST_IDS[itemIndex]; }
+	public static int outfitOfItem(int itemIndex) { return ITEM_OUTFIT[itemIndex]; }
+	public static int pieceOfItem(int itemIndex) { return ITEM_PIECE[itemIndex]; }
+
+	// Dense index of the canonical item for any main or variant ID, -1 if not part of an outfit
+	public static int itemIndexOf(int anyItemId)
+	{
+		return VARIANT_INDEX.get(anyItemId, -1);
+	}
+
+	// Containers are filtered through this so snapshots stay bounded by the catalog, not the bank
+	public static boolean isTracked(int itemId)
+	{
+		return itemId >= 0 && TRACKED_IDS.get(itemId);
+	}
+
+	// Shared array, callers must not modify it
+	static int[] costItemIds() { return COST_ITEM_IDS; }
+
+	// ======== SLOTS ========
+	public static int slotCount() { return SLOT_ITEM_IDS.length; }
+	public static int slotItemId(int slot) { return SLOT_ITEM_IDS[slot]; }
+
+	// Dense slot of a tracked item ID, -1 if the ID is not tracked
+	public static int slotOf(int itemId)
+	{
+		return SLOT_INDEX.get(itemId, -1);
+	}
+
+	// ======== EXTRA COSTS ========
+	public static int firstExtraCost(int itemIndex) { return ITEM_FIRST_EXTRA_COST[itemIndex]; }
+	public static int extraCostEnd(int itemIndex) { return ITEM_FIRST_EXTRA_COST[itemIndex + 1]; }
+	public static int extraCostId(int cost) { return EXTRA_COST_IDS[cost]; }
+	public static int extraCostAmount(int cost) { return EXTRA_COST_AMOUNTS[cost]; }
+	public static String extraCostName(int cost) { return EXTRA_COST_NAMES[cost]; }
+}
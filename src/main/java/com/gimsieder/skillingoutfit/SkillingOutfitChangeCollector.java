@@ -0,0 +1,61 @@
+package com.gimsieder.skillingoutfit;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Records what changed during a game tick (dirty containers, counter config writes,
+ * plain repaint requests) so the plugin can apply it all once from its GameTick
+ * subscription, no matter how many events fired in between.
+ */
+final class SkillingOutfitChangeCollector
+{
+	private final BitSet dirtyContainers = new BitSet();
+	private final Map<String, Integer> pendingCounters = new LinkedHashMap<>();
+	private boolean repaint;
+
+	void markContainer(int containerId)
+	{
+		dirtyContainers.set(containerId);
+	}
+
+	// Last value written for a key within the tick wins
+	void markCounter(String configKey, int value)
+	{
+		pendingCounters.put(configKey, value);
+		repaint = true;
+	}
+
+	void markRepaint()
+	{
+		repaint = true;
+	}
+
+	boolean isEmpty()
+	{
+		return dirtyContainers.isEmpty() && pendingCounters.isEmpty() && !repaint;
+	}
+
+	// Applies and clears everything recorded since the last tick; returns true if the panel needs one repaint
+	boolean apply(IntPredicate containerApplier, ObjIntConsumer<String> counterWriter)
+	{
+		if (isEmpty())
+			return false;
+
+		boolean changed = repaint;
+		repaint = false;
+
+		for (int id = dirtyContainers.nextSetBit(0); id >= 0; id = dirtyContainers.nextSetBit(id + 1))
+			changed |= containerApplier.test(id);
+		dirtyContainers.clear();
+
+		for (Map.Entry<String, Integer> entry : pendingCounters.entrySet())
+			counterWriter.accept(entry.getKey(), entry.getValue());
+		pendingCounters.clear();
+
+		return changed;
+	}
+}
@@ -0,0 +1,204 @@
+package com.gimsieder.skillingoutfit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Declarative table of chat message rules. Every rule names a literal keyword that
+ * must appear in the message; the keywords are compiled into one Aho-Corasick automaton
+ * so a non-matching line is rejected in a single scan without creating any Matcher.
+ * Only rules whose keyword was hit run their regex and capture group parse; when that
+ * regex misses, the scan carries on to the next keyword in the line.
+ */
+final class SkillingOutfitChatDispatcher
+{
+	interface Handler
+	{
+		// Receives each capture group parsed as an int, commas ignored
+		void accept(int[] values);
+	}
+
+	private static final int[] NO_RULES = new int[0];
+
+	private static final class Rule
+	{
+		private final String keyword;
+		private final Pattern pattern;
+		private final Handler handler;
+
+		private Rule(String keyword, Pattern pattern, Handler handler)
+		{
+			this.keyword = keyword;
+			this.pattern = pattern;
+			this.handler = handler;
+		}
+	}
+
+	private final Rule[] rules;
+
+	// Automaton: per state, sorted transition labels/targets, failure link and every rule whose keyword ends there
+	private final char[][] labels;
+	private final int[][] targets;
+	private final int[] fail;
+	private final int[][] output;
+
+	private SkillingOutfitChatDispatcher(List<Rule> ruleList)
+	{
+		rules = ruleList.toArray(new Rule[0]);
+
+		List<TreeMap<Character, Integer>> edges = new ArrayList<>();
+		List<List<Integer>> outputs = new ArrayList<>();
+		edges.add(new TreeMap<>());
+		outputs.add(new ArrayList<>());
+
+		// Trie of all keywords
+		for (int r = 0; r < rules.length; r++)
+		{
+			int state = 0;
+			for (char c : rules[r].keyword.toCharArray())
+			{
+				Integer next = edges.get(state).get(c);
+				if (next == null)
+				{
+					next = edges.size();
+					edges.add(new TreeMap<>());
+					outputs.add(new ArrayList<>());
+					edges.get(state).put(c, next);
+				}
+				state = next;
+			}
+			outputs.get(state).add(r);
+		}
+
+		int states = edges.size();
+		labels = new char[states][];
+		targets = new int[states][];
+		fail = new int[states];
+		for (int s = 0; s < states; s++)
+		{
+			TreeMap<Character, Integer> out = edges.get(s);
+			labels[s] = new char[out.size()];
+			targets[s] = new int[out.size()];
+			int i = 0;
+			for (Map.Entry<Character, Integer> e : out.entrySet())
+			{
+				labels[s][i] = e.getKey();
+				targets[s][i++] = e.getValue();
+			}
+		}
+
+		// Failure links, breadth first; a state also matches every rule of its failure state.
+		// Parents are dequeued before children, so a failure state's list is complete when it is read
+		Deque<Integer> queue = new ArrayDeque<>();
+		for (int child : targets[0])
+			queue.add(child);
+		while (!queue.isEmpty())
+		{
+			int s = queue.poll();
+			for (int i = 0; i < labels[s].length; i++)
+			{
+				int child = targets[s][i];
+				int f = fail[s];
+				int next;
+				while ((next = step(f, labels[s][i])) < 0 && f != 0)
+					f = fail[f];
+				fail[child] = Math.max(next, 0);
+				outputs.get(child).addAll(outputs.get(fail[child]));
+				queue.add(child);
+			}
+		}
+
+		output = new int[states][];
+		for (int s = 0; s < states; s++)
+		{
+			List<Integer> matched = outputs.get(s);
+			output[s] = matched.isEmpty() ? NO_RULES : new int[matched.size()];
+			for (int i = 0; i < matched.size(); i++)
+				output[s][i] = matched.get(i);
+		}
+	}
+
+	static Builder builder()
+	{
+		return new Builder();
+	}
+
+	// ======== DISPATCH ========
+	// Returns true if a rule matched and its handler ran; at most one handler runs per message
+	boolean dispatch(String message)
+	{
+		int state = 0;
+		for (int i = 0, n = message.length(); i < n; i++)
+		{
+			char c = message.charAt(i);
+			int next;
+			while ((next = step(state, c)) < 0 && state != 0)
+				state = fail[state];
+			state = Math.max(next, 0);
+			for (int rule : output[state])
+			{
+				if (tryRule(rules[rule], message))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean tryRule(Rule rule, String message)
+	{
+		Matcher matcher = rule.pattern.matcher(message);
+		if (!matcher.find())
+			return false;
+
+		int[] values = new int[matcher.groupCount()];
+		for (int g = 0; g < values.length; g++)
+			values[g] = parseInt(matcher.group(g + 1));
+		rule.handler.accept(values);
+		return true;
+	}
+
+	private int step(int state, char c)
+	{
+		int i = Arrays.binarySearch(labels[state], c);
+		return i < 0 ? -1 : targets[state][i];
+	}
+
+	private static int parseInt(String group)
+	{
+		if (group == null) return 0;
+		int value = 0;
+		for (int i = 0; i < group.length(); i++)
+		{
+			char c = group.charAt(i);
+			if (c >= '0' && c <= '9')
+				value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+
+	// ======== RULE TABLE ========
+	static final class Builder
+	{
+		private final List<Rule> rules = new ArrayList<>();
+
+		// keyword must be a literal substring of every message the pattern can match
+		Builder rule(String keyword, String regex, Handler handler)
+		{
+			if (keyword == null || keyword.isEmpty()) throw new IllegalArgumentException("keyword cannot be null or empty");
+			rules.add(new Rule(keyword, Pattern.compile(regex), handler));
+			return this;
+		}
+
+		SkillingOutfitChatDispatcher build()
+		{
+			return new SkillingOutfitChatDispatcher(rules);
+		}
+	}
+}
@@ -238,6 +238,55 @@ public interface SkillingOutfitConfig extends Config
 		return true;
 	}
 
+	// 21. Bank Save Interval
+	@Units(Units.SECONDS)
+	@ConfigItem(
+			keyName = "bankSaveInterval",
+			name = "Bank Save Interval",
+			description = "Minimum time between saving bank changes to your profile. Always saved on bank close and logout",
+			position = 21
+	)
+	default int bankSaveInterval()
+	{
+		return 30;
+	}
+
+	// 22. Dim Unowned Items
+	@ConfigItem(
+			keyName = "dimUnownedItems",
+			name = "Dim Unowned Items",
+			description = "Draw the icons of items you do not own yet faded",
+			position = 22
+	)
+	default boolean dimUnownedItems()
+	{
+		return false;
+	}
+
+	// 23. Record Events
+	@ConfigItem(
+			keyName = "recordEvents",
+			name = "Record Events",
+			description = "Write chat, item container, varbit and game state events to .runelite/skillingoutfit/recordings for offline replay",
+			position = 23
+	)
+	default boolean recordEvents()
+	{
+		return false;
+	}
+
+	// 24. Diagnostics
+	@ConfigItem(
+			keyName = "diagnostics",
+			name = "Diagnostics",
+			description = "Time the plugin's event handlers, paints and config writes and show the results in a Diagnostics section of the panel",
+			position = 24
+	)
+	default boolean diagnostics()
+	{
+		return false;
+	}
+
 // ----------------------- Skip to Outfits Display -------------------------------
 
 	@ConfigSection(
@@ -0,0 +1,63 @@
+package com.gimsieder.skillingoutfit;
+
+import lombok.Getter;
+
+/**
+ * Every currency an outfit is bought or earned with. Item currencies are held in
+ * containers and follow their combined quantity; the rest are counters read from chat,
+ * varbits or config. Counters with a config key are persisted under it.
+ */
+@Getter
+public enum SkillingOutfitCurrency
+{
+	MARKS_OF_GRACE(11849, true, null),
+	GOLDEN_NUGGETS(12012, true, null),
+	ABYSSAL_PEARLS(26792, true, null),
+	// Counted from chat awards and the config spinner rather than containers, it is spent as soon as it is earned
+	ANIMA_BARK(28134, false, "animaBark"),
+	CARPENTER_POINTS(-1, false, "mahoganyPoints"),
+	CARPENTER_CONTRACTS(-1, false, "mahoganyContracts"),
+	FARMING_POINTS(-1, false, "farmingPoints"),
+	TITHE_FARM_POINTS(-1, false, null),
+	FOUNDRY_REPUTATION(-1, false, null),
+	TEMPOROSS_POINTS(-1, false, "temporossPoints"),
+	HUNTER_RUMORS(-1, false, "hunterRumors"),
+	WINTERTODT_CRATES(-1, false, "wintertodtCrates"),
+	ROGUES_DEN_ATTEMPTS(-1, false, "roguesDenAttempts");
+
+	private static final SkillingOutfitCurrency[] VALUES = values();
+
+	// -1 when the currency is not an item
+	private final int itemId;
+	// True when the balance is the combined inventory + equipment + bank quantity of itemId
+	private final boolean containerBacked;
+	// Null when the balance is not persisted
+	private final String configKey;
+
+	SkillingOutfitCurrency(int itemId, boolean containerBacked, String configKey)
+	{
+		this.itemId = itemId;
+		this.containerBacked = containerBacked;
+		this.configKey = configKey;
+	}
+
+	static SkillingOutfitCurrency of(int ordinal)
+	{
+		return VALUES[ordinal];
+	}
+
+	static int count()
+	{
+		return VALUES.length;
+	}
+
+	// Currency paid with the given item, null if the item is not a currency
+	public static SkillingOutfitCurrency ofItem(int itemId)
+	{
+		if (itemId <= 0) return null;
+		for (SkillingOutfitCurrency currency : VALUES)
+			if (currency.itemId == itemId)
+				return currency;
+		return null;
+	}
+}
@@ -0,0 +1,107 @@
+package com.gimsieder.skillingoutfit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single authoritative balance per {@link SkillingOutfitCurrency}. Container diffs,
+ * chat awards, varbits and config edits all arrive as signed deltas tagged with their
+ * source; absolute readings are turned into the delta from the current balance. Every
+ * non-zero delta is appended to a log, of which the most recent LOG_CAPACITY entries
+ * are kept and shown in the Diagnostics section. Client thread only; the panel reads
+ * the balances copied into each state.
+ */
+final class SkillingOutfitCurrencyLedger
+{
+	static final int SOURCE_LOAD = 0;
+	static final int SOURCE_CONTAINER = 1;
+	static final int SOURCE_CHAT = 2;
+	static final int SOURCE_VARBIT = 3;
+	static final int SOURCE_CONFIG = 4;
+	private static final String[] SOURCE_NAMES = {"load", "container", "chat", "varbit", "config"};
+
+	static final int LOG_CAPACITY = 1024;
+
+	private final int[] balances = new int[SkillingOutfitCurrency.count()];
+
+	// Ring of packed entries: currency << 40 | source << 32 | delta
+	private final long[] log = new long[LOG_CAPACITY];
+	private long appended;
+
+	// ======== DELTAS ========
+	// Returns true if the balance changed
+	boolean apply(SkillingOutfitCurrency currency, int delta, int source)
+	{
+		if (delta == 0)
+			return false;
+
+		balances[currency.ordinal()] += delta;
+		log[(int) (appended++ % LOG_CAPACITY)] = ((long) currency.ordinal() << 40) | ((long) source << 32) | (delta & 0xFFFFFFFFL);
+		return true;
+	}
+
+	// Records an absolute reading, e.g. a chat total or a varbit, as the delta from the current balance
+	boolean set(SkillingOutfitCurrency currency, int balance, int source)
+	{
+		return apply(currency, balance - balances[currency.ordinal()], source);
+	}
+
+	int balance(SkillingOutfitCurrency currency)
+	{
+		return balances[currency.ordinal()];
+	}
+
+	int[] copyBalances()
+	{
+		return balances.clone();
+	}
+
+	// ======== LOG ========
+	// Total deltas ever appended, including those no longer retained
+	long getAppended()
+	{
+		return appended;
+	}
+
+	int logSize()
+	{
+		return (int) Math.min(appended, LOG_CAPACITY);
+	}
+
+	// i = 0 is the oldest retained entry
+	long logEntry(int i)
+	{
+		long first = appended - logSize();
+		return log[(int) ((first + i) % LOG_CAPACITY)];
+	}
+
+	static SkillingOutfitCurrency entryCurrency(long entry)
+	{
+		return SkillingOutfitCurrency.of((int) (entry >>> 40));
+	}
+
+	static int entrySource(long entry)
+	{
+		return (int) (entry >>> 32) & 0xFF;
+	}
+
+	static int entryDelta(long entry)
+	{
+		return (int) entry;
+	}
+
+	// Newest first, at most count lines such as "+12 MARKS_OF_GRACE (container)"
+	List<String> describeRecent(int count)
+	{
+		int size = logSize();
+		int n = Math.min(count, size);
+		List<String> lines = new ArrayList<>(n);
+		for (int i = size - 1; i >= size - n; i--)
+		{
+			long entry = logEntry(i);
+			int delta = entryDelta(entry);
+			lines.add((delta > 0 ? "+" : "") + delta + " " + entryCurrency(entry) + " (" + SOURCE_NAMES[entrySource(entry)] + ")");
+		}
+		return lines;
+	}
+}
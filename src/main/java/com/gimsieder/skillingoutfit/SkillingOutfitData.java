@@ -7,7 +7,8 @@ import java.util.Map;
 
 public class SkillingOutfitData
 {
-	public static final Map<String, SkillingOutfitDataEntry> OUTFITS_DATA = new LinkedHashMap<>();
+	// Source tables, compiled into SkillingOutfitCatalog which everything else reads
+	static final Map<String, SkillingOutfitDataEntry> OUTFITS_DATA = new LinkedHashMap<>();
 
 	static
 	{
@@ -38,7 +39,7 @@ public class SkillingOutfitData
 		farmera.put(13640, new SkillingOutfitItem(13640, "Farmer's Boro Trousers", 125, "Farming Points", 0));
 		farmera.put(13644, new SkillingOutfitItem(13644, "Farmer's Boots", 50, "Farming Points", 0));
 		OUTFITS_DATA.put("Farming - Farmer's Outfit Male",
-				new SkillingOutfitDataEntry("displayFarming", farmera, "https://oldschool.runescape.wiki/w/Farmer's_outfit#Body_Type_A", "Farming"));
+				new SkillingOutfitDataEntry("displayFarming", farmera, "https://oldschool.runescape.wiki/w/Farmer's_outfit#Body_Type_A", "Farming", SkillingOutfitBodyType.MALE));
 
 		// Farmer's Outfit B FEMALE
 		Map<Integer, SkillingOutfitItem> farmerb = new LinkedHashMap<>();
@@ -47,7 +48,7 @@ public class SkillingOutfitData
 		farmerb.put(13641, new SkillingOutfitItem(13641, "Farmer's Boro Trousers", 125, "Farming Points", 0));
 		farmerb.put(13645, new SkillingOutfitItem(13645, "Farmer's Boots", 50, "Farming Points", 0));
 		OUTFITS_DATA.put("Farming - Farmer's Outfit Female",
-				new SkillingOutfitDataEntry("displayFarming", farmerb, "https://oldschool.runescape.wiki/w/Farmer's_outfit#Body_Type_B", "Farming"));
+				new SkillingOutfitDataEntry("displayFarming", farmerb, "https://oldschool.runescape.wiki/w/Farmer's_outfit#Body_Type_B", "Farming", SkillingOutfitBodyType.FEMALE));
 
 		// Pyromancer Outfit
 		Map<Integer, SkillingOutfitItem> pyromancer = new LinkedHashMap<>();
@@ -140,18 +141,25 @@ public class SkillingOutfitData
 		public final Map<Integer, SkillingOutfitItem> items;
 		public final String wikiUrl;
 		public final String primarySkill;
+		public final SkillingOutfitBodyType bodyType;
 
-		public SkillingOutfitDataEntry(String configKey, Map<Integer, SkillingOutfitItem> items, String wikiUrl, String primarySkill)
+		public SkillingOutfitDataEntry(String configKey, Map<Integer, SkillingOutfitItem> items, String wikiUrl, String primarySkill, SkillingOutfitBodyType bodyType)
 		{
 			this.configKey = configKey;
 			this.items = items;
 			this.wikiUrl = wikiUrl;
 			this.primarySkill = primarySkill;
+			this.bodyType = bodyType;
+		}
+
+		public SkillingOutfitDataEntry(String configKey, Map<Integer, SkillingOutfitItem> items, String wikiUrl, String primarySkill)
+		{
+			this(configKey, items, wikiUrl, primarySkill, SkillingOutfitBodyType.ANY);
 		}
 	}
 
 	// More than 1 cost item s
-	public static final Map<Integer, List<SkillingOutfitItem.CostEntry>> EXTRA_COSTS = new HashMap<>();
+	static final Map<Integer, List<SkillingOutfitItem.CostEntry>> EXTRA_COSTS = new HashMap<>();
 
 	static
 	{
@@ -0,0 +1,157 @@
+package com.gimsieder.skillingoutfit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-outfit points line and tooltip lines the panel shows next to each outfit, built
+ * from the remaining requirement of the unowned pieces and the currency held towards
+ * it. Updated from each new tracker state,
+ * but an outfit is only recomputed when its ownership bits or currency changed, and
+ * its strings are only reformatted when its own version moved. EDT only.
+ */
+final class SkillingOutfitDerivedStats
+{
+	private final int outfitCount = SkillingOutfitCatalog.outfitCount();
+
+	private long stateVersion = -1;
+
+	// Inputs last seen per outfit
+	private final long[] ownedBits = new long[outfitCount];
+	private final int[] currency = new int[outfitCount];
+	private final int[] costAvailable = new int[outfitCount];
+
+	// Derived values
+	private final int[] remainingRequirement = new int[outfitCount];
+	private final int[] costItemId = new int[outfitCount];
+	private final String[] costText = new String[outfitCount];
+
+	// Bumped whenever an outfit's figures change; strings are rebuilt lazily against it
+	private final int[] version = new int[outfitCount];
+	private final int[] formattedVersion = new int[outfitCount];
+	private final String[] pointsLines = new String[outfitCount];
+	private final List<List<String>> tooltipLines = new ArrayList<>(Collections.nCopies(outfitCount, null));
+
+	SkillingOutfitDerivedStats()
+	{
+		for (int outfit = 0; outfit < outfitCount; outfit++)
+		{
+			// Forces the first update to compute every outfit
+			ownedBits[outfit] = -1;
+			formattedVersion[outfit] = -1;
+		}
+	}
+
+	void update(SkillingOutfitTrackerState state)
+	{
+		if (state.getVersion() == stateVersion) return;
+		stateVersion = state.getVersion();
+
+		for (int outfit = 0; outfit < outfitCount; outfit++)
+		{
+			long bits = state.getOutfitBits(outfit);
+			boolean changed = bits != ownedBits[outfit];
+			if (changed)
+			{
+				ownedBits[outfit] = bits;
+				computeRemaining(outfit, bits);
+			}
+
+			int held = currencyOf(outfit, state);
+			int available = costItemId[outfit] == -1 ? 0 : state.getAmountHeld(costItemId[outfit]);
+			if (changed || held != currency[outfit] || available != costAvailable[outfit])
+			{
+				currency[outfit] = held;
+				costAvailable[outfit] = available;
+				version[outfit]++;
+			}
+		}
+	}
+
+	private void computeRemaining(int outfit, long bits)
+	{
+		int first = SkillingOutfitCatalog.firstItem(outfit);
+		int end = SkillingOutfitCatalog.firstItem(outfit + 1);
+		int required = 0;
+		int firstCostItemId = -1;
+		String firstCostText = "";
+		boolean found = false;
+		for (int itemIndex = first; itemIndex < end; itemIndex++)
+		{
+			if ((bits & (1L << SkillingOutfitCatalog.pieceOfItem(itemIndex))) != 0) continue;
+
+			required += SkillingOutfitCatalog.itemRequirement(itemIndex);
+			if (!found)
+			{
+				found = true;
+				firstCostItemId = SkillingOutfitCatalog.itemCostId(itemIndex);
+				firstCostText = SkillingOutfitCatalog.item(itemIndex).getCostText();
+			}
+		}
+
+		remainingRequirement[outfit] = required;
+		costItemId[outfit] = firstCostItemId;
+		costText[outfit] = firstCostText;
+	}
+
+	// What the outfit's points line counts against its remaining requirement
+	private int currencyOf(int outfit, SkillingOutfitTrackerState state)
+	{
+		switch (SkillingOutfitCatalog.outfitSkill(outfit))
+		{
+			case "Construction": return state.getBalance(SkillingOutfitCurrency.CARPENTER_POINTS);
+			case "Farming": return state.getBalance(SkillingOutfitCurrency.TITHE_FARM_POINTS);
+			case "Smithing": return state.getBalance(SkillingOutfitCurrency.FOUNDRY_REPUTATION);
+			case "Firemaking": return state.getBalance(SkillingOutfitCurrency.WINTERTODT_CRATES);
+			case "Fishing": return state.getBalance(SkillingOutfitCurrency.TEMPOROSS_POINTS);
+			case "Hunter": return state.getBalance(SkillingOutfitCurrency.HUNTER_RUMORS);
+			case "Woodcutting": return state.getBalance(SkillingOutfitCurrency.ANIMA_BARK);
+			case "Thieving": return state.getBalance(SkillingOutfitCurrency.ROGUES_DEN_ATTEMPTS);
+			case "Prayer": return 0;
+			default: return costItemId[outfit] == -1 ? 0 : state.getAmountHeld(costItemId[outfit]);
+		}
+	}
+
+	// ======== READS ========
+	String getPointsLine(int outfit)
+	{
+		format(outfit);
+		return pointsLines[outfit];
+	}
+
+	List<String> getTooltipLines(int outfit)
+	{
+		format(outfit);
+		return tooltipLines.get(outfit);
+	}
+
+	private void format(int outfit)
+	{
+		if (formattedVersion[outfit] == version[outfit]) return;
+		formattedVersion[outfit] = version[outfit];
+
+		int held = currency[outfit];
+		int required = remainingRequirement[outfit];
+		String text = costText[outfit];
+		switch (SkillingOutfitCatalog.outfitSkill(outfit))
+		{
+			case "Construction": pointsLines[outfit] = held + "/" + required + " Carpenter Points Owned"; break;
+			case "Farming": pointsLines[outfit] = held + "/" + required + " Farming Points Owned"; break;
+			case "Smithing": pointsLines[outfit] = held + "/" + required + " Reputation Owned"; break;
+			case "Firemaking": pointsLines[outfit] = held + " Wintertodt Subdued"; break;
+			case "Fishing": pointsLines[outfit] = held + " Tempoross Kills"; break;
+			case "Hunter": pointsLines[outfit] = held + " Hunter Rumors Completed"; break;
+			case "Prayer": pointsLines[outfit] = "Shade Catacombs - Gold Chest"; break;
+			case "Thieving": pointsLines[outfit] = held + " Safes Opened"; break;
+			default: pointsLines[outfit] = held + "/" + required + " " + text + " Owned"; break;
+		}
+
+		int total = SkillingOutfitCatalog.outfitSize(outfit);
+		List<String> lines = new ArrayList<>(3);
+		lines.add("Owned: " + Long.bitCount(ownedBits[outfit]) + "/" + total + " Items");
+		if (required > 0) lines.add(costAvailable[outfit] + "/" + required + " " + text + " Owned");
+		lines.add("Click To Open Wiki");
+		tooltipLines.set(outfit, Collections.unmodifiableList(lines));
+	}
+}
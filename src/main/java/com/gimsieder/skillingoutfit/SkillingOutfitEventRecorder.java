@@ -0,0 +1,235 @@
+package com.gimsieder.skillingoutfit;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.GameState;
+import net.runelite.api.Item;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the plugin's inbound events to a gzipped local file so a session can be
+ * replayed without a game client. After a magic int, each record is a type byte, the
+ * milliseconds since the previous record as a varint, then its payload. Client thread
+ * only; any write failure stops the recording rather than the plugin.
+ */
+@Slf4j
+final class SkillingOutfitEventRecorder
+{
+	static final int MAGIC = 0x534F5231; // "SOR1"
+
+	static final int TICK = 0;
+	static final int CONTAINER = 1;
+	static final int CHAT = 2;
+	static final int VARBIT = 3;
+	static final int GAME_STATE = 4;
+
+	// Receives records in file order; millis is the time since the recording started
+	interface Visitor
+	{
+		void tick(long millis);
+		void container(long millis, int containerId, int[] itemIds, int[] quantities);
+		void chat(long millis, String type, String message);
+		void varbit(long millis, int varpId, int varbitId, int value);
+		void gameState(long millis, String state);
+	}
+
+	private DataOutputStream out;
+	private long lastMillis;
+
+	boolean isRecording()
+	{
+		return out != null;
+	}
+
+	// ======== RECORDING ========
+	void start(File directory)
+	{
+		if (out != null)
+			return;
+
+		File file = new File(directory, "session-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".sor");
+		try
+		{
+			if (!directory.isDirectory() && !directory.mkdirs())
+				throw new IOException("Unable to create " + directory);
+			out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file)), 1 << 16));
+			out.writeInt(MAGIC);
+			lastMillis = System.currentTimeMillis();
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to start event recording to {}", file, e);
+			stop();
+		}
+	}
+
+	void stop()
+	{
+		if (out == null)
+			return;
+
+		try
+		{
+			out.close();
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to finish event recording", e);
+		}
+		out = null;
+	}
+
+	void tick()
+	{
+		try
+		{
+			header(TICK);
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	// Full contents, untracked items included, so replays cost what the live session did
+	void container(int containerId, Item[] items)
+	{
+		try
+		{
+			header(CONTAINER);
+			SkillingOutfitVarints.write(out, containerId);
+			SkillingOutfitVarints.write(out, items.length);
+			for (Item item : items)
+			{
+				// Empty slots are -1
+				SkillingOutfitVarints.write(out, item.getId() + 1);
+				SkillingOutfitVarints.write(out, item.getQuantity());
+			}
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	void chat(ChatMessageType type, String message)
+	{
+		try
+		{
+			header(CHAT);
+			out.writeUTF(type.name());
+			out.writeUTF(message);
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	void varbit(int varpId, int varbitId, int value)
+	{
+		try
+		{
+			header(VARBIT);
+			SkillingOutfitVarints.write(out, varpId + 1);
+			SkillingOutfitVarints.write(out, varbitId + 1);
+			out.writeInt(value);
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	void gameState(GameState state)
+	{
+		try
+		{
+			header(GAME_STATE);
+			out.writeUTF(state.name());
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	private void header(int type) throws IOException
+	{
+		long now = System.currentTimeMillis();
+		out.writeByte(type);
+		SkillingOutfitVarints.write(out, (int) Math.max(0, Math.min(Integer.MAX_VALUE, now - lastMillis)));
+		lastMillis = now;
+	}
+
+	private void fail(IOException e)
+	{
+		log.warn("Event recording stopped", e);
+		stop();
+	}
+
+	// ======== READING ========
+	static void read(File file, Visitor visitor) throws IOException
+	{
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file)), 1 << 16)))
+		{
+			if (in.readInt() != MAGIC)
+				throw new IOException("Not an event recording: " + file);
+
+			long millis = 0;
+			while (true)
+			{
+				int type = in.read();
+				if (type < 0)
+					return;
+				millis += SkillingOutfitVarints.read(in);
+
+				switch (type)
+				{
+					case TICK:
+						visitor.tick(millis);
+						break;
+					case CONTAINER:
+						int containerId = SkillingOutfitVarints.read(in);
+						int[] itemIds = new int[SkillingOutfitVarints.read(in)];
+						int[] quantities = new int[itemIds.length];
+						for (int i = 0; i < itemIds.length; i++)
+						{
+							itemIds[i] = SkillingOutfitVarints.read(in) - 1;
+							quantities[i] = SkillingOutfitVarints.read(in);
+						}
+						visitor.container(millis, containerId, itemIds, quantities);
+						break;
+					case CHAT:
+						visitor.chat(millis, in.readUTF(), in.readUTF());
+						break;
+					case VARBIT:
+						visitor.varbit(millis, SkillingOutfitVarints.read(in) - 1, SkillingOutfitVarints.read(in) - 1, in.readInt());
+						break;
+					case GAME_STATE:
+						visitor.gameState(millis, in.readUTF());
+						break;
+					default:
+						throw new IOException("Unknown record type " + type);
+				}
+			}
+		}
+		catch (EOFException ignored)
+		{
+			// Truncated by a client crash; everything before the cut is still replayed
+		}
+	}
+}
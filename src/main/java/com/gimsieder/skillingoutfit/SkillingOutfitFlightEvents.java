@@ -0,0 +1,92 @@
+package com.gimsieder.skillingoutfit;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Java Flight Recorder events for the plugin's client thread and EDT work. Each site
+ * creates an event, calls begin(), and only fills in its fields when shouldCommit()
+ * says a recording wants it. With no recording running, the JIT removes the unused
+ * allocation and the site costs a field check.
+ */
+final class SkillingOutfitFlightEvents
+{
+	private static final String CATEGORY = "Skilling Outfit Tracker";
+
+	private SkillingOutfitFlightEvents()
+	{
+	}
+
+	@Name("com.gimsieder.skillingoutfit.ContainerRefresh")
+	@Label("Container Refresh")
+	@Description("Inventory, equipment or bank contents copied into the tracker's slot counts")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static final class ContainerRefresh extends Event
+	{
+		@Label("Container ID")
+		int containerId;
+
+		@Label("Item Count")
+		@Description("Slots in the container, tracked or not")
+		int itemCount;
+
+		@Label("Delta Size")
+		@Description("Tracked items whose quantity changed")
+		int deltaSize;
+	}
+
+	@Name("com.gimsieder.skillingoutfit.ConfigWrite")
+	@Label("Config Write")
+	@Description("A ConfigManager.setConfiguration call made by the plugin")
+	@Category(CATEGORY)
+	static final class ConfigWrite extends Event
+	{
+		@Label("Key")
+		String key;
+
+		@Label("Payload")
+		@DataAmount
+		int payloadBytes;
+	}
+
+	@Name("com.gimsieder.skillingoutfit.PanelPaint")
+	@Label("Panel Paint")
+	@Description("One paint of the outfit list")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static final class PanelPaint extends Event
+	{
+		@Label("Items Drawn")
+		@Description("Item sprites inside the repaint clip, not every icon in the layout")
+		int itemsDrawn;
+	}
+
+	// Commits a begun ConfigWrite; the payload is only measured when a recording takes the event
+	static void commitConfigWrite(ConfigWrite event, String key, String value)
+	{
+		event.end();
+		if (!event.shouldCommit())
+			return;
+		event.key = key;
+		event.payloadBytes = value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+		event.commit();
+	}
+
+	static void commitConfigWrite(ConfigWrite event, String key, int value)
+	{
+		event.end();
+		if (!event.shouldCommit())
+			return;
+		event.key = key;
+		event.payloadBytes = Integer.toString(value).length();
+		event.commit();
+	}
+}
@@ -0,0 +1,73 @@
+package com.gimsieder.skillingoutfit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram in the style of HdrHistogram: values below 16 get a
+ * bucket each, above that every power of two is split into 16 linear sub-buckets, so
+ * any recorded value is reported within about 6% of its true size. Writers only touch
+ * atomics, so the panel can read percentiles while the client thread records.
+ */
+final class SkillingOutfitHistogram
+{
+	private static final int SUB_BITS = 4;
+	private static final int SUB = 1 << SUB_BITS;
+	// Values are clamped to 2^41 - 1, about 36 minutes in nanoseconds
+	private static final int MAX_EXPONENT = 40;
+	private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB;
+	private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	void record(long value)
+	{
+		value = Math.max(0, Math.min(MAX_VALUE, value));
+		counts.incrementAndGet(bucketOf(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	long getCount() { return count.get(); }
+	long getSum() { return sum.get(); }
+	long getMax() { return max.get(); }
+
+	// Upper bound of the bucket holding the given percentile (0-100), 0 when empty
+	long percentile(double percentile)
+	{
+		long total = count.get();
+		if (total == 0)
+			return 0;
+
+		long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++)
+		{
+			seen += counts.get(bucket);
+			if (seen >= rank)
+				return Math.min(upperBound(bucket), max.get());
+		}
+		return max.get();
+	}
+
+	private static int bucketOf(long value)
+	{
+		if (value < SUB)
+			return (int) value;
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return (shift + 1) * SUB + (int) ((value >>> shift) - SUB);
+	}
+
+	private static long upperBound(int bucket)
+	{
+		if (bucket < SUB)
+			return bucket;
+		int shift = bucket / SUB - 1;
+		long mantissa = bucket % SUB + SUB;
+		return ((mantissa + 1) << shift) - 1;
+	}
+}
@@ -0,0 +1,63 @@
+package com.gimsieder.skillingoutfit;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Row-bucketed hit index over the layout's hit boxes, each mapped to a non-negative int
+ * target (a catalog item or outfit index). Each box is registered in every fixed-height
+ * row it overlaps, so a lookup only scans the few boxes sharing the pointer's row
+ * instead of every icon and outfit title in the panel.
+ */
+final class SkillingOutfitHitIndex
+{
+	private static final int ROW_HEIGHT = 16;
+
+	private static final class Entry
+	{
+		private final Rectangle bounds;
+		private final int target;
+
+		private Entry(Rectangle bounds, int target)
+		{
+			this.bounds = bounds;
+			this.target = target;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Entry>[] rows = new List[0];
+
+	void add(Rectangle bounds, int target)
+	{
+		if (bounds.height <= 0 || bounds.y + bounds.height <= 0)
+			return;
+
+		int first = Math.max(0, bounds.y) / ROW_HEIGHT;
+		int last = (bounds.y + bounds.height - 1) / ROW_HEIGHT;
+		if (last >= rows.length)
+			rows = Arrays.copyOf(rows, Math.max(last + 1, rows.length * 2));
+
+		Entry entry = new Entry(bounds, target);
+		for (int row = first; row <= last; row++)
+		{
+			if (rows[row] == null)
+				rows[row] = new ArrayList<>(4);
+			rows[row].add(entry);
+		}
+	}
+
+	// Returns the target whose box contains (x, y), or -1
+	int find(int x, int y)
+	{
+		if (y < 0) return -1;
+		int row = y / ROW_HEIGHT;
+		if (row >= rows.length || rows[row] == null) return -1;
+
+		for (Entry entry : rows[row])
+			if (entry.bounds.contains(x, y)) return entry.target;
+		return -1;
+	}
+}
@@ -0,0 +1,138 @@
+package com.gimsieder.skillingoutfit;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tooltip layer drawn on top of the panel's base layer. Tracks the hovered icon or
+ * outfit title and only reports a dirty region when that target actually changes:
+ * the union of the old and new anchor and tooltip rectangles.
+ */
+final class SkillingOutfitHoverOverlay
+{
+	private static final int PADDING = 4;
+	private static final Color BACKGROUND = new Color(0, 0, 0, 220);
+
+	// Catalog item and outfit indices, -1 for none
+	private int hoveredItem = -1;
+	private int hoveredOutfit = -1;
+
+	// Tooltip resolved for a specific layout; rebuilt when the layout is replaced
+	private SkillingOutfitLayout resolvedFor;
+	private Rectangle anchor;
+	private List<String> lines;
+	private Rectangle bounds;
+
+	// Returns the region to repaint, or null if the hovered target did not change
+	Rectangle hover(int itemIndex, int outfit, SkillingOutfitLayout layout, SkillingOutfitDerivedStats stats, int panelWidth, FontMetrics fm)
+	{
+		if (itemIndex == hoveredItem && outfit == hoveredOutfit)
+			return null;
+
+		Rectangle before = dirtyBounds();
+		hoveredItem = itemIndex;
+		hoveredOutfit = outfit;
+		resolve(layout, stats, panelWidth, fm);
+		Rectangle after = dirtyBounds();
+
+		if (before == null) return after;
+		if (after == null) return before;
+		return before.union(after);
+	}
+
+	void paint(Graphics2D g, SkillingOutfitLayout layout, SkillingOutfitDerivedStats stats, int panelWidth)
+	{
+		FontMetrics fm = g.getFontMetrics();
+		if (resolvedFor != layout)
+			resolve(layout, stats, panelWidth, fm);
+		if (lines == null)
+			return;
+
+		g.setColor(BACKGROUND);
+		g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+		g.setColor(Color.WHITE);
+		g.drawRect(bounds.x, bounds.y, bounds.width, bounds.height);
+
+		for (int i = 0; i < lines.size(); i++)
+			g.drawString(lines.get(i), bounds.x + (bounds.width - fm.stringWidth(lines.get(i))) / 2, bounds.y + PADDING + i * fm.getHeight() + fm.getAscent());
+	}
+
+	// True when the hovered target is laid out and its tooltip will be drawn
+	boolean isVisible()
+	{
+		return lines != null;
+	}
+
+	// Anchor plus tooltip, grown by one pixel for the outline stroke
+	private Rectangle dirtyBounds()
+	{
+		if (bounds == null) return null;
+		Rectangle dirty = bounds.union(anchor);
+		dirty.grow(1, 1);
+		return dirty;
+	}
+
+	private void resolve(SkillingOutfitLayout layout, SkillingOutfitDerivedStats stats, int panelWidth, FontMetrics fm)
+	{
+		resolvedFor = layout;
+		anchor = null;
+		lines = null;
+		bounds = null;
+		if (layout == null) return;
+
+		if (hoveredItem != -1)
+		{
+			anchor = layout.iconBounds(hoveredItem);
+			if (anchor != null)
+				lines = itemLines(SkillingOutfitCatalog.item(hoveredItem));
+		}
+		else if (hoveredOutfit != -1)
+		{
+			anchor = layout.outfitBounds(hoveredOutfit);
+			if (anchor != null)
+				lines = stats.getTooltipLines(hoveredOutfit);
+		}
+
+		if (lines == null)
+		{
+			anchor = null;
+			return;
+		}
+
+		int overlayWidth = lines.stream().mapToInt(fm::stringWidth).max().orElse(0) + PADDING * 2;
+		int overlayHeight = lines.size() * fm.getHeight() + PADDING * 4;
+		int x = (panelWidth - overlayWidth) / 2;
+		int y = anchor.y + anchor.height + 5;
+		bounds = new Rectangle(x, y, overlayWidth, overlayHeight);
+	}
+
+	private static List<String> itemLines(SkillingOutfitItem item)
+	{
+		List<String> tooltipLines = new ArrayList<>();
+		tooltipLines.add(item.getName());
+
+		StringBuilder requirementLine = new StringBuilder();
+		int requirement = item.getRequirement();
+		String costText = item.getCostText();
+
+		if (requirement > 0)
+		{
+			requirementLine.append(requirement);
+		}
+
+		if (costText != null && !costText.isEmpty())
+		{
+			if (requirementLine.length() > 0) requirementLine.append(" ");
+			requirementLine.append(costText);
+		}
+
+		if (requirementLine.length() > 0)
+		{
+			tooltipLines.add(requirementLine.toString());
+		}
+
+		tooltipLines.add("Click To Open Wiki");
+		return tooltipLines;
+	}
+}
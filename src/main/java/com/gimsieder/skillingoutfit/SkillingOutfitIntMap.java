@@ -0,0 +1,137 @@
+package com.gimsieder.skillingoutfit;
+
+/**
+ * Open-addressed int to int lookup table, filled once and then only read: the catalog's
+ * item ID to variant and slot indexes, and the buffer the bank store decodes into.
+ * Each key and value is packed into one long slot so lookups never box.
+ * Keys must be non-negative (item IDs).
+ */
+public final class SkillingOutfitIntMap
+{
+	private static final int MIN_CAPACITY = 16;
+	private static final long FREE = 0L;
+
+	private long[] table;
+	private int size;
+
+	public SkillingOutfitIntMap(int expectedSize)
+	{
+		table = new long[tableSizeFor(expectedSize)];
+	}
+
+	// ======== LOOKUPS ========
+	public int get(int key, int defaultValue)
+	{
+		long[] t = table;
+		int slot = find(t, key);
+		return slot < 0 ? defaultValue : (int) t[slot];
+	}
+
+	// ======== INSERTION ========
+	public void put(int key, int value)
+	{
+		checkKey(key);
+		int slot = find(table, key);
+		if (slot >= 0)
+		{
+			table[slot] = pack(key, value);
+			return;
+		}
+
+		ensureCapacity(size + 1);
+		insert(table, key, value);
+		size++;
+	}
+
+	// ======== SLOT ITERATION ========
+	// Allocation free iteration: for (int s = 0; s < map.capacity(); s++) if (map.isUsed(s)) ...
+	public int capacity()
+	{
+		return table.length;
+	}
+
+	public boolean isUsed(int slot)
+	{
+		return table[slot] != FREE;
+	}
+
+	public int keyAt(int slot)
+	{
+		return keyOf(table[slot]);
+	}
+
+	public int valueAt(int slot)
+	{
+		return (int) table[slot];
+	}
+
+	// ======== INTERNALS ========
+	private static int find(long[] t, int key)
+	{
+		if (key < 0) return -1;
+
+		int mask = t.length - 1;
+		int slot = mix(key) & mask;
+		// Bounded so a reader on another thread can never spin on a table being rewritten
+		for (int probes = 0; probes < t.length; probes++)
+		{
+			long entry = t[slot];
+			if (entry == FREE) return -1;
+			if (keyOf(entry) == key) return slot;
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private static void insert(long[] t, int key, int value)
+	{
+		int mask = t.length - 1;
+		int slot = mix(key) & mask;
+		while (t[slot] != FREE)
+			slot = (slot + 1) & mask;
+		t[slot] = pack(key, value);
+	}
+
+	private void ensureCapacity(int needed)
+	{
+		// Keep the load factor at or below one half
+		if (needed * 2 <= table.length) return;
+
+		long[] old = table;
+		long[] grown = new long[tableSizeFor(needed)];
+		for (long entry : old)
+			if (entry != FREE)
+				insert(grown, keyOf(entry), (int) entry);
+		table = grown;
+	}
+
+	private static void checkKey(int key)
+	{
+		if (key < 0) throw new IllegalArgumentException("key must be non-negative: " + key);
+	}
+
+	// Key is stored +1 in the high half so an all-zero slot always means free
+	private static long pack(int key, int value)
+	{
+		return ((long) (key + 1) << 32) | (value & 0xFFFFFFFFL);
+	}
+
+	private static int keyOf(long entry)
+	{
+		return (int) (entry >>> 32) - 1;
+	}
+
+	private static int mix(int key)
+	{
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private static int tableSizeFor(int expectedSize)
+	{
+		int capacity = MIN_CAPACITY;
+		while (capacity < expectedSize * 2)
+			capacity <<= 1;
+		return capacity;
+	}
+}
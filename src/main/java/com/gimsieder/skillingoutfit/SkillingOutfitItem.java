@@ -11,6 +11,7 @@ public class SkillingOutfitItem
 	private final String costText;
 	private final int costItemId;
 	private final List<Integer> otherItemIds;
+	private final int[] allItemIds;
 
 	// Constructor with otherItemIds
 	public SkillingOutfitItem(int itemId, String name, int requirement, String costText, int costItemId, List<Integer> otherItemIds)
@@ -28,6 +29,12 @@ public class SkillingOutfitItem
 		this.costItemId = costItemId;
 		this.otherItemIds = List.copyOf(otherItemIds);
 
+		// Main ID first, then every recolour / variant, flattened for allocation free ownership checks
+		this.allItemIds = new int[otherItemIds.size() + 1];
+		this.allItemIds[0] = itemId;
+		for (int i = 0; i < otherItemIds.size(); i++)
+			this.allItemIds[i + 1] = otherItemIds.get(i);
+
 	}
 
 	// Constructor without otherItemIds (defaults to empty list)
@@ -45,6 +52,8 @@ public class SkillingOutfitItem
 	public String getCostText() { return costText; }
 	public int getCostItemId() { return costItemId; }
 	public List<Integer> getOtherItemIds() { return otherItemIds; }
+	// Shared array, callers must not modify it
+	public int[] getAllItemIds() { return allItemIds; }
 
 	// ------------------------
 	// Overrides
@@ -0,0 +1,327 @@
+package com.gimsieder.skillingoutfit;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Retained layout of the tracker panel: a flat render list of positioned strings,
+ * sprites and owned borders, plus the icon and outfit title hit boxes. The panel
+ * rebuilds it only when the tracker state version, config, width or body type changes;
+ * painting and the preferred size both read the same instance. The render list is
+ * split into vertical sections (header, one per outfit), each drawn once into its own
+ * offscreen image the first time it intersects the clip, so paints only blit what is
+ * in view.
+ */
+final class SkillingOutfitLayout
+{
+	private static final int TEXT = 0;
+	private static final int SPRITE = 1;
+	private static final int BORDER = 2;
+	private static final int DIMMED_SPRITE = 3;
+
+	private static final BasicStroke BORDER_STROKE = new BasicStroke(2);
+
+	// A contiguous run of ops and its cached base layer image
+	private static final class Section
+	{
+		private final int firstOp;
+		private final int endOp;
+		private final Rectangle bounds;
+		private final int spriteCount;
+
+		// Rendered lazily at the device scale it was drawn for
+		private BufferedImage image;
+		private double imageScale;
+
+		private Section(int firstOp, int endOp, Rectangle bounds, int spriteCount)
+		{
+			this.firstOp = firstOp;
+			this.endOp = endOp;
+			this.bounds = bounds;
+			this.spriteCount = spriteCount;
+		}
+	}
+
+	private static final class Op
+	{
+		private final int kind;
+		private final int x;
+		private final int y;
+		private final int size;
+		private final Color color;
+		private final String text;
+		private final int itemId;
+		// Painted area, used to skip ops outside the clip on partial repaints
+		private final Rectangle bounds;
+
+		private Op(int kind, int x, int y, int size, Color color, String text, int itemId, Rectangle bounds)
+		{
+			this.kind = kind;
+			this.x = x;
+			this.y = y;
+			this.size = size;
+			this.color = color;
+			this.text = text;
+			this.itemId = itemId;
+			this.bounds = bounds;
+		}
+	}
+
+	// Cache key
+	private final long stateVersion;
+	private final int width;
+	private final int configVersion;
+	private final boolean female;
+
+	private final FontMetrics fm;
+	private final List<Op> ops = new ArrayList<>();
+	// Hit boxes indexed by catalog item and outfit index, null when not laid out
+	private final Rectangle[] iconBounds = new Rectangle[SkillingOutfitCatalog.itemCount()];
+	private final Rectangle[] outfitBounds = new Rectangle[SkillingOutfitCatalog.outfitCount()];
+	private int iconCount;
+	private final SkillingOutfitHitIndex iconHits = new SkillingOutfitHitIndex();
+	private final SkillingOutfitHitIndex outfitHits = new SkillingOutfitHitIndex();
+	private final List<Section> sections = new ArrayList<>();
+	private int sectionStart = -1;
+	private int height;
+
+	SkillingOutfitLayout(long stateVersion, int width, int configVersion, boolean female, FontMetrics fm)
+	{
+		this.stateVersion = stateVersion;
+		this.width = width;
+		this.configVersion = configVersion;
+		this.female = female;
+		this.fm = fm;
+	}
+
+	boolean matches(long stateVersion, int width, int configVersion, boolean female)
+	{
+		return this.stateVersion == stateVersion
+				&& this.width == width
+				&& this.configVersion == configVersion
+				&& this.female == female;
+	}
+
+	// ======== BUILDING ========
+	// y is the text baseline
+	void text(String text, int x, int y, Color color)
+	{
+		Rectangle bounds = new Rectangle(x, y - fm.getAscent(), fm.stringWidth(text), fm.getAscent() + fm.getDescent());
+		add(new Op(TEXT, x, y, 0, color, text, -1, bounds));
+	}
+
+	void sprite(int itemId, int x, int y, int size, boolean dim)
+	{
+		add(new Op(dim ? DIMMED_SPRITE : SPRITE, x, y, size, null, null, itemId, new Rectangle(x, y, size, size)));
+	}
+
+	void border(int x, int y, int size, Color color)
+	{
+		// Grown for the 2px stroke centred on the outline
+		add(new Op(BORDER, x, y, size, color, null, -1, new Rectangle(x - 1, y - 1, size + 3, size + 3)));
+	}
+
+	private void add(Op op)
+	{
+		if (sectionStart < 0) sectionStart = ops.size();
+		ops.add(op);
+	}
+
+	// Starts a new vertical section; sections must be built top to bottom
+	void beginSection()
+	{
+		endSection();
+		sectionStart = ops.size();
+	}
+
+	private void endSection()
+	{
+		if (sectionStart < 0 || sectionStart == ops.size()) return;
+
+		Rectangle bounds = new Rectangle(ops.get(sectionStart).bounds);
+		int spriteCount = 0;
+		for (int i = sectionStart; i < ops.size(); i++)
+		{
+			Op op = ops.get(i);
+			bounds.add(op.bounds);
+			if (isSprite(op)) spriteCount++;
+		}
+		sections.add(new Section(sectionStart, ops.size(), bounds, spriteCount));
+		sectionStart = -1;
+	}
+
+	// itemIndex is the catalog item index
+	void icon(int itemIndex, Rectangle bounds)
+	{
+		if (iconBounds[itemIndex] == null) iconCount++;
+		iconBounds[itemIndex] = bounds;
+		iconHits.add(bounds, itemIndex);
+	}
+
+	// outfit is the catalog outfit index
+	void outfit(int outfit, Rectangle bounds)
+	{
+		outfitBounds[outfit] = bounds;
+		outfitHits.add(bounds, outfit);
+	}
+
+	// Called once building is done
+	void setHeight(int height)
+	{
+		endSection();
+		this.height = height;
+	}
+
+	// ======== READING ========
+	int getHeight()
+	{
+		return height;
+	}
+
+	Rectangle iconBounds(int itemIndex)
+	{
+		return iconBounds[itemIndex];
+	}
+
+	Rectangle outfitBounds(int outfit)
+	{
+		return outfitBounds[outfit];
+	}
+
+	int getIconCount()
+	{
+		return iconCount;
+	}
+
+	// Catalog item index under (x, y), or -1
+	int itemAt(int x, int y)
+	{
+		return iconHits.find(x, y);
+	}
+
+	// Catalog outfit index under (x, y), or -1
+	int outfitAt(int x, int y)
+	{
+		return outfitHits.find(x, y);
+	}
+
+	// Sprites finished loading after the images were rendered
+	void invalidateImage()
+	{
+		for (Section section : sections)
+			section.image = null;
+	}
+
+	// Blits the cached image of every section intersecting the clip, rendering missing ones first.
+	// Returns how many sprites fall inside the clip of the sections drawn
+	int paintCached(Graphics2D g, SkillingOutfitSpriteCache sprites)
+	{
+		Rectangle clip = g.getClipBounds();
+		int clipTop = clip == null ? Integer.MIN_VALUE : clip.y;
+		int clipBottom = clip == null ? Integer.MAX_VALUE : clip.y + clip.height;
+		double scale = g.getTransform().getScaleX();
+
+		int spritesDrawn = 0;
+		for (int i = firstSectionBelow(clipTop); i < sections.size(); i++)
+		{
+			Section section = sections.get(i);
+			if (section.bounds.y >= clipBottom) break;
+			if (clip != null && !clip.intersects(section.bounds)) continue;
+
+			if (section.image == null || section.imageScale != scale)
+				renderSection(g, section, sprites, scale);
+			g.drawImage(section.image, section.bounds.x, section.bounds.y, section.bounds.width, section.bounds.height, null);
+			spritesDrawn += clip == null || clip.contains(section.bounds) ? section.spriteCount : spritesIn(section, clip);
+		}
+		return spritesDrawn;
+	}
+
+	// Only needed for sections the clip cuts through
+	private int spritesIn(Section section, Rectangle clip)
+	{
+		int count = 0;
+		for (int i = section.firstOp; i < section.endOp; i++)
+		{
+			Op op = ops.get(i);
+			if (isSprite(op) && clip.intersects(op.bounds)) count++;
+		}
+		return count;
+	}
+
+	private static boolean isSprite(Op op)
+	{
+		return op.kind == SPRITE || op.kind == DIMMED_SPRITE;
+	}
+
+	// Index of the first section whose bottom edge lies below y
+	private int firstSectionBelow(int y)
+	{
+		int low = 0;
+		int high = sections.size();
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+			Rectangle bounds = sections.get(mid).bounds;
+			if (bounds.y + bounds.height <= y) low = mid + 1;
+			else high = mid;
+		}
+		return low;
+	}
+
+	private void renderSection(Graphics2D g, Section section, SkillingOutfitSpriteCache sprites, double scale)
+	{
+		Rectangle bounds = section.bounds;
+		section.image = g.getDeviceConfiguration().createCompatibleImage(
+				Math.max(1, (int) Math.ceil(bounds.width * scale)), Math.max(1, (int) Math.ceil(bounds.height * scale)), Transparency.TRANSLUCENT);
+		section.imageScale = scale;
+
+		Graphics2D ig = section.image.createGraphics();
+		try
+		{
+			ig.setRenderingHints(g.getRenderingHints());
+			ig.setFont(g.getFont());
+			ig.scale(scale, scale);
+			ig.translate(-bounds.x, -bounds.y);
+			paint(ig, sprites, section.firstOp, section.endOp);
+		}
+		finally
+		{
+			ig.dispose();
+		}
+	}
+
+	// Only ops intersecting the clip are drawn, so a tooltip repaint touches a handful of them
+	private void paint(Graphics2D g, SkillingOutfitSpriteCache sprites, int firstOp, int endOp)
+	{
+		Rectangle clip = g.getClipBounds();
+		double scale = g.getTransform().getScaleX();
+		for (int i = firstOp; i < endOp; i++)
+		{
+			Op op = ops.get(i);
+			if (clip != null && !clip.intersects(op.bounds))
+				continue;
+
+			switch (op.kind)
+			{
+				case TEXT:
+					g.setColor(op.color);
+					g.drawString(op.text, op.x, op.y);
+					break;
+				case SPRITE:
+				case DIMMED_SPRITE:
+					// Already at device size, so this maps pixel for pixel
+					BufferedImage sprite = sprites.get(op.itemId, op.size, scale, op.kind == DIMMED_SPRITE);
+					if (sprite != null)
+						g.drawImage(sprite, op.x, op.y, op.size, op.size, null);
+					break;
+				case BORDER:
+					g.setColor(op.color);
+					g.setStroke(BORDER_STROKE);
+					g.drawRect(op.x, op.y, op.size, op.size);
+					break;
+			}
+		}
+	}
+}
@@ -0,0 +1,172 @@
+package com.gimsieder.skillingoutfit;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Call counts, latency histograms and allocated bytes for the plugin's hot paths. Off
+ * by default; while disabled a probe costs one volatile read and the JVM's per-thread
+ * allocation accounting is left alone. Probes may run on the client thread and the EDT
+ * at once, so start values live in the caller's local and a per-thread baseline.
+ */
+final class SkillingOutfitMetrics
+{
+	static final int CHAT = 0;
+	static final int CONTAINER = 1;
+	static final int VARBIT = 2;
+	static final int GAME_STATE = 3;
+	static final int GAME_TICK = 4;
+	static final int CONFIG_WRITE = 5;
+	static final int PAINT = 6;
+	private static final int PROBES = 7;
+
+	private static final String[] NAMES = {
+		"onChatMessage", "onItemContainerChanged", "onVarbitChanged", "onGameStateChanged", "onGameTick", "config write", "paintItems"
+	};
+
+	private static final long TICK_NANOS = 600_000_000L;
+
+	// Null when the JVM cannot report per-thread allocation
+	private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+	private volatile boolean enabled;
+	// Set when enabling turned allocation accounting on, so disabling turns it back off
+	private boolean allocationTrackingOwned;
+
+	private final SkillingOutfitHistogram[] latency = new SkillingOutfitHistogram[PROBES];
+	private final AtomicLongArray allocated = new AtomicLongArray(PROBES);
+	private final ThreadLocal<long[]> allocationStart = ThreadLocal.withInitial(() -> new long[PROBES]);
+	private final AtomicLong ticks = new AtomicLong();
+
+	SkillingOutfitMetrics()
+	{
+		for (int probe = 0; probe < PROBES; probe++)
+			latency[probe] = new SkillingOutfitHistogram();
+	}
+
+	synchronized void setEnabled(boolean enabled)
+	{
+		if (THREADS != null)
+		{
+			if (enabled && !THREADS.isThreadAllocatedMemoryEnabled())
+			{
+				THREADS.setThreadAllocatedMemoryEnabled(true);
+				allocationTrackingOwned = true;
+			}
+			else if (!enabled && allocationTrackingOwned)
+			{
+				THREADS.setThreadAllocatedMemoryEnabled(false);
+				allocationTrackingOwned = false;
+			}
+		}
+		this.enabled = enabled;
+	}
+
+	boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	// ======== PROBES ========
+	// Returns the start time to hand to end, or 0 when disabled (a real nanoTime of 0 just drops one sample)
+	long begin(int probe)
+	{
+		if (!enabled)
+			return 0;
+		if (THREADS != null)
+			allocationStart.get()[probe] = threadAllocatedBytes();
+		return System.nanoTime();
+	}
+
+	void end(int probe, long start)
+	{
+		if (start == 0)
+			return;
+		latency[probe].record(System.nanoTime() - start);
+		if (THREADS != null)
+			allocated.addAndGet(probe, Math.max(0, threadAllocatedBytes() - allocationStart.get()[probe]));
+	}
+
+	void tick()
+	{
+		if (enabled)
+			ticks.incrementAndGet();
+	}
+
+	private static long threadAllocatedBytes()
+	{
+		return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static com.sun.management.ThreadMXBean threadBean()
+	{
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean))
+			return null;
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		return threads.isThreadAllocatedMemorySupported() ? threads : null;
+	}
+
+	// ======== REPORT ========
+	List<String> report()
+	{
+		List<String> lines = new ArrayList<>(PROBES + 2);
+		long clientThreadNanos = 0;
+		for (int probe = 0; probe < PROBES; probe++)
+		{
+			SkillingOutfitHistogram histogram = latency[probe];
+			long calls = histogram.getCount();
+			// Paints run on the EDT, and config writes are already inside the handler that issued them
+			if (probe != PAINT && probe != CONFIG_WRITE)
+				clientThreadNanos += histogram.getSum();
+
+			lines.add(String.format("%s: %,d calls, p50 %s, p99 %s, max %s, %s/call",
+				NAMES[probe], calls,
+				formatNanos(histogram.percentile(50)), formatNanos(histogram.percentile(99)), formatNanos(histogram.getMax()),
+				THREADS == null ? "n/a" : formatBytes(calls == 0 ? 0 : allocated.get(probe) / calls)));
+		}
+
+		long tickCount = ticks.get();
+		if (tickCount > 0)
+		{
+			double perTick = (double) clientThreadNanos / tickCount;
+			lines.add(String.format("Client thread: %s per tick, %.3f%% of the 600ms tick", formatNanos((long) perTick), perTick * 100 / TICK_NANOS));
+		}
+		return lines;
+	}
+
+	// Writes a report (this one plus anything the panel shows with it) to directory/diagnostics-<time>.txt
+	static File dump(File directory, List<String> lines) throws IOException
+	{
+		if (!directory.isDirectory() && !directory.mkdirs())
+			throw new IOException("Unable to create " + directory);
+
+		File file = new File(directory, "diagnostics-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".txt");
+		Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+		return file;
+	}
+
+	private static String formatNanos(long nanos)
+	{
+		if (nanos < 1_000) return nanos + "ns";
+		if (nanos < 1_000_000) return String.format("%.1fus", nanos / 1e3);
+		return String.format("%.2fms", nanos / 1e6);
+	}
+
+	private static String formatBytes(long bytes)
+	{
+		if (bytes < 1024) return bytes + "B";
+		return String.format("%.1fKiB", bytes / 1024.0);
+	}
+}
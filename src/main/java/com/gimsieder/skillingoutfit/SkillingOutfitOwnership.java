@@ -0,0 +1,91 @@
+package com.gimsieder.skillingoutfit;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Derived ownership state kept by the tracker: one bitset per outfit (bit = piece index)
+ * plus global owned item and owned outfit counters. Written on the client thread when a
+ * container delta touches a catalog ID and copied into each published tracker state.
+ */
+public final class SkillingOutfitOwnership
+{
+	private final IntPredicate idOwned;
+	private final long[] outfitBits = new long[SkillingOutfitCatalog.outfitCount()];
+	private final long[] completeMasks = new long[SkillingOutfitCatalog.outfitCount()];
+
+	private volatile int ownedItems;
+	private volatile int ownedOutfits;
+
+	// idOwned answers whether a single raw item ID (main or variant) is currently owned
+	public SkillingOutfitOwnership(IntPredicate idOwned)
+	{
+		this.idOwned = idOwned;
+		for (int i = 0; i < SkillingOutfitCatalog.itemCount(); i++)
+			completeMasks[SkillingOutfitCatalog.outfitOfItem(i)] |= 1L << SkillingOutfitCatalog.pieceOfItem(i);
+	}
+
+	// ======== UPDATES (client thread) ========
+	public void recomputeAll()
+	{
+		for (int i = 0; i < SkillingOutfitCatalog.itemCount(); i++)
+			setPiece(i, isCanonicalOwned(i));
+		recount();
+	}
+
+	// Re-evaluates the outfit piece behind any main or variant ID; returns true if its state changed
+	public boolean update(int anyItemId)
+	{
+		int itemIndex = SkillingOutfitCatalog.itemIndexOf(anyItemId);
+		if (itemIndex < 0) return false;
+
+		if (!setPiece(itemIndex, isCanonicalOwned(itemIndex))) return false;
+		recount();
+		return true;
+	}
+
+	private boolean isCanonicalOwned(int itemIndex)
+	{
+		for (int id : SkillingOutfitCatalog.item(itemIndex).getAllItemIds())
+			if (idOwned.test(id)) return true;
+		return false;
+	}
+
+	private boolean setPiece(int itemIndex, boolean owned)
+	{
+		int outfit = SkillingOutfitCatalog.outfitOfItem(itemIndex);
+		long bit = 1L << SkillingOutfitCatalog.pieceOfItem(itemIndex);
+		long before = outfitBits[outfit];
+		long after = owned ? before | bit : before & ~bit;
+		outfitBits[outfit] = after;
+		return before != after;
+	}
+
+	private void recount()
+	{
+		int items = 0;
+		int outfits = 0;
+		for (int i = 0; i < outfitBits.length; i++)
+		{
+			items += Long.bitCount(outfitBits[i]);
+			if (outfitBits[i] == completeMasks[i]) outfits++;
+		}
+		ownedItems = items;
+		ownedOutfits = outfits;
+	}
+
+	// ======== READS (published through the tracker state) ========
+	// Copy for an immutable state snapshot
+	long[] copyBits()
+	{
+		return outfitBits.clone();
+	}
+
+	// Never modified after construction, safe to share
+	long[] getCompleteMasks()
+	{
+		return completeMasks;
+	}
+
+	public int getOwnedItems() { return ownedItems; }
+	public int getOwnedOutfits() { return ownedOutfits; }
+}
@@ -13,14 +13,12 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.BooleanSupplier;
-import java.util.stream.Collectors;
 
 public class SkillingOutfitPanel extends PluginPanel
 {
@@ -32,21 +30,27 @@ public class SkillingOutfitPanel extends PluginPanel
 	private final SkillingOutfitPlugin plugin;
 	private final ClientThread clientThread;
 
-	private final Map<Integer, BufferedImage> itemSprites = new HashMap<>();
-	private final Map<Integer, Rectangle> iconBounds = new HashMap<>();
-	private final Map<String, Rectangle> outfitBounds = new HashMap<>();
-	private final Map<String, BooleanSupplier> outfitDisplayMap = new HashMap<>();
+	private final SkillingOutfitSpriteCache spriteCache = new SkillingOutfitSpriteCache();
 	private final Map<String, Integer> remainingCounts = new HashMap<>();
-	private final Map<Integer, SkillingOutfitItem> hoverItemMap = new HashMap<>();
 
 
-	private final Map<Integer, Integer> inventoryCacheSnapshot = new ConcurrentHashMap<>();
-	private final Map<Integer, Integer> equipmentCacheSnapshot = new ConcurrentHashMap<>();
-	private final Map<Integer, Integer> bankCacheSnapshot = new ConcurrentHashMap<>();
+	// Version being rendered and its retained layout; only touched on the EDT
+	private SkillingOutfitTrackerState state = SkillingOutfitTrackerState.EMPTY;
+	// Replaced as a whole on config changes, never mutated
+	private volatile SkillingOutfitRenderSettings settings;
+	private SkillingOutfitLayout layout;
+	private int configVersion = 0;
 
 	private JPanel innerPanel;
-	private int hoveredItemId = -1;
-	private String hoveredOutfitName = null;
+	private final SkillingOutfitHoverOverlay hoverOverlay = new SkillingOutfitHoverOverlay();
+	private final SkillingOutfitDerivedStats stats = new SkillingOutfitDerivedStats();
+
+	// Optional hot path report under the outfit list, refreshed once a second while shown
+	private final JPanel diagnosticsPanel = new JPanel(new BorderLayout());
+	private final JTextArea diagnosticsText = new JTextArea();
+	private final JLabel diagnosticsStatus = new JLabel();
+	private final javax.swing.Timer diagnosticsTimer = new javax.swing.Timer(1000, e -> refreshDiagnostics());
+	private static final int DIAGNOSTICS_LEDGER_LINES = 10;
 
 	private static final Map<String, Color> SKILL_COLORS = Map.ofEntries(
 			Map.entry("Agility", new Color(0x33FF33)),
@@ -99,32 +103,36 @@ public class SkillingOutfitPanel extends PluginPanel
 		innerPanel.addMouseMotionListener(new java.awt.event.MouseMotionAdapter() {
 			@Override
 			public void mouseMoved(MouseEvent e) {
-				hoveredItemId = getItemAt(e.getX(), e.getY());
-				hoveredOutfitName = getOutfitAt(e.getX(), e.getY());
-				innerPanel.repaint();
+				updateHover(getItemAt(e.getX(), e.getY()), getOutfitAt(e.getX(), e.getY()));
 			}
 		});
 
 		innerPanel.addMouseListener(new MouseAdapter()
 		{
+			@Override
+			public void mouseExited(MouseEvent e)
+			{
+				updateHover(-1, -1);
+			}
+
 			@Override
 			public void mouseClicked(MouseEvent e)
 			{
-				int itemId = getItemAt(e.getX(), e.getY());
-				if (itemId != -1)
+				int itemIndex = getItemAt(e.getX(), e.getY());
+				if (itemIndex != -1)
 				{
 					// Open item wiki
-					openWikiLink("https://oldschool.runescape.wiki/Special:Lookup?utm_source=wiki&type=item&id=" + itemId);
+					openWikiLink("https://oldschool.runescape.wiki/Special:Lookup?utm_source=wiki&type=item&id=" + SkillingOutfitCatalog.itemId(itemIndex));
 					return;
 				}
 
-				String outfitName = getOutfitAt(e.getX(), e.getY());
-				if (outfitName != null)
+				int outfit = getOutfitAt(e.getX(), e.getY());
+				if (outfit != -1)
 				{
-					SkillingOutfitData.SkillingOutfitDataEntry entry = SkillingOutfitData.OUTFITS_DATA.get(outfitName);
-					if (entry != null && entry.wikiUrl != null && !entry.wikiUrl.isEmpty())
+					String wikiUrl = SkillingOutfitCatalog.outfitWikiUrl(outfit);
+					if (wikiUrl != null && !wikiUrl.isEmpty())
 					{
-						openWikiLink(entry.wikiUrl);
+						openWikiLink(wikiUrl);
 					}
 				}
 			}
@@ -136,255 +144,328 @@ public class SkillingOutfitPanel extends PluginPanel
 		scrollPane.getVerticalScrollBar().setUnitIncrement(16);
 		add(scrollPane, BorderLayout.CENTER);
 
+		setupDiagnostics();
+	}
+
+	// ======== DIAGNOSTICS ========
+	private void setupDiagnostics()
+	{
+		diagnosticsText.setEditable(false);
+		diagnosticsText.setLineWrap(true);
+		diagnosticsText.setWrapStyleWord(true);
+		diagnosticsText.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 10));
+		diagnosticsText.setBackground(new Color(30, 30, 30));
+		diagnosticsText.setForeground(Color.LIGHT_GRAY);
+
+		JButton dump = new JButton("Dump To File");
+		dump.addActionListener(e -> dumpDiagnostics());
+		diagnosticsStatus.setFont(diagnosticsStatus.getFont().deriveFont(10f));
+		diagnosticsStatus.setForeground(Color.LIGHT_GRAY);
+
+		JPanel controls = new JPanel(new BorderLayout());
+		controls.setBackground(new Color(40, 40, 40));
+		controls.add(dump, BorderLayout.WEST);
+		controls.add(diagnosticsStatus, BorderLayout.CENTER);
+
+		JLabel title = new JLabel("Diagnostics");
+		title.setForeground(Color.WHITE);
+		diagnosticsPanel.setBackground(new Color(40, 40, 40));
+		diagnosticsPanel.add(title, BorderLayout.NORTH);
+		diagnosticsPanel.add(diagnosticsText, BorderLayout.CENTER);
+		diagnosticsPanel.add(controls, BorderLayout.SOUTH);
+		diagnosticsPanel.setVisible(false);
+		add(diagnosticsPanel, BorderLayout.SOUTH);
+	}
+
+	public void setDiagnosticsVisible(boolean visible)
+	{
+		SwingUtilities.invokeLater(() -> {
+			diagnosticsPanel.setVisible(visible);
+			if (visible)
+			{
+				refreshDiagnostics();
+				diagnosticsTimer.start();
+			}
+			else
+			{
+				diagnosticsTimer.stop();
+			}
+			revalidate();
+		});
+	}
+
+	// Metrics are atomics and read here; the currency ledger is client thread only, so its log is described there
+	private void refreshDiagnostics()
+	{
+		List<String> lines = tracker.getMetrics().report();
+		clientThread.invoke(() -> {
+			SkillingOutfitCurrencyLedger ledger = tracker.getLedger();
+			lines.add("Currency changes, " + ledger.getAppended() + " logged, newest first:");
+			lines.addAll(ledger.describeRecent(DIAGNOSTICS_LEDGER_LINES));
+			SwingUtilities.invokeLater(() -> diagnosticsText.setText(String.join("\n", lines)));
+		});
+	}
+
+	private void dumpDiagnostics()
+	{
+		try
+		{
+			File file = SkillingOutfitMetrics.dump(SkillingOutfitPlugin.DIAGNOSTICS_DIR, Arrays.asList(diagnosticsText.getText().split("\n")));
+			diagnosticsStatus.setText(" " + file.getName());
+		}
+		catch (IOException e)
+		{
+			diagnosticsStatus.setText(" Dump failed: " + e.getMessage());
+		}
 	}
 
 	private void preloadSprites()
 	{
-		for (SkillingOutfitData.SkillingOutfitDataEntry entry : SkillingOutfitData.OUTFITS_DATA.values())
-			for (int itemId : entry.items.keySet())
-				itemSprites.put(itemId, itemManager.getImage(itemId, 1, false));
+		for (int itemIndex = 0; itemIndex < SkillingOutfitCatalog.itemCount(); itemIndex++)
+		{
+			int itemId = SkillingOutfitCatalog.itemId(itemIndex);
+			spriteCache.load(itemId, itemManager.getImage(itemId, 1, false), this::spriteLoaded);
+		}
+	}
+
+	// The cached base layer was drawn with the placeholder, render it again
+	private void spriteLoaded()
+	{
+		if (layout != null) layout.invalidateImage();
+		innerPanel.repaint();
 	}
 
+	// Snapshot of the render config; called whenever the config changes
 	public void setupOutfitDisplayMap()
 	{
-		for (var entry : SkillingOutfitData.OUTFITS_DATA.entrySet())
+		settings = SkillingOutfitRenderSettings.from(config, configManager);
+	}
+
+	// Same cached layout the paint uses, plus a small bottom buffer
+	Dimension calculatePreferredSize()
+	{
+		return new Dimension(300, currentLayout().getHeight() + 80);
+	}
+
+	void paintItems(Graphics2D g)
+	{
+		SkillingOutfitFlightEvents.PanelPaint event = new SkillingOutfitFlightEvents.PanelPaint();
+		event.begin();
+		long start = tracker.getMetrics().begin(SkillingOutfitMetrics.PAINT);
+		SkillingOutfitLayout current = currentLayout();
+		int spritesDrawn = current.paintCached(g, spriteCache);
+		hoverOverlay.paint(g, current, stats, getWidth());
+		tracker.getMetrics().end(SkillingOutfitMetrics.PAINT, start);
+
+		event.end();
+		if (event.shouldCommit())
 		{
-			String outfitName = entry.getKey();
-			String configKey = entry.getValue().configKey;
-			outfitDisplayMap.put(outfitName, () -> {
-				Object result = configManager.getConfiguration("skillingoutfit", configKey);
-				return result != null && Boolean.parseBoolean(result.toString());
-			});
+			event.itemsDrawn = spritesDrawn;
+			event.commit();
 		}
 	}
 
-	private void paintItems(Graphics2D g)
+	// Repaints only the old and new tooltip regions, and only when the hovered target changes
+	void updateHover(int itemIndex, int outfit)
 	{
-		iconBounds.clear();
-		hoverItemMap.clear();
-		outfitBounds.clear();
+		Rectangle dirty = hoverOverlay.hover(itemIndex, outfit, layout, stats, getWidth(), innerPanel.getFontMetrics(innerPanel.getFont()));
+		if (dirty != null)
+			innerPanel.repaint(dirty);
+	}
 
+	boolean isHoverVisible()
+	{
+		return hoverOverlay.isVisible();
+	}
+
+	// Rebuilt only when the tracker state, config, width or body type changed since the last build
+	SkillingOutfitLayout currentLayout()
+	{
+		SkillingOutfitTrackerState current = tracker.getState();
 		int panelWidth = getWidth();
-		int yOffset = config.panelTitleSpacer();
-		FontMetrics fm = g.getFontMetrics();
+		boolean isFemale = isLocalPlayerFemale();
+		if (layout != null && layout.matches(current.getVersion(), panelWidth, configVersion, isFemale))
+			return layout;
+
+		int oldHeight = layout == null ? -1 : layout.getHeight();
+		state = current;
+		stats.update(current);
+		layout = buildLayout(panelWidth, isFemale, innerPanel.getFontMetrics(innerPanel.getFont()));
+		if (oldHeight != -1 && layout.getHeight() != oldHeight)
+			innerPanel.revalidate();
+		return layout;
+	}
+
+	private boolean isLocalPlayerFemale()
+	{
+		Player localPlayer = client.getLocalPlayer();
+		return localPlayer != null && localPlayer.getPlayerComposition() != null && localPlayer.getPlayerComposition().isFemale();
+	}
+
+	private SkillingOutfitLayout buildLayout(int panelWidth, boolean isFemale, FontMetrics fm)
+	{
+		SkillingOutfitLayout out = new SkillingOutfitLayout(state.getVersion(), panelWidth, configVersion, isFemale, fm);
+		int yOffset = settings.getPanelTitleSpacer();
 
 		// Title
-		g.setColor(Color.WHITE);
+		out.beginSection();
 		String title = "Skilling Outfit Tracker";
-		g.drawString(title, (panelWidth - fm.stringWidth(title)) / 2, yOffset + fm.getAscent());
+		out.text(title, (panelWidth - fm.stringWidth(title)) / 2, yOffset + fm.getAscent(), Color.WHITE);
 		yOffset += fm.getHeight();
 
 		// Display outfit and item collected counts
-		yOffset = paintCollectedCounts(g, panelWidth, yOffset, fm);
-
-		Player localPlayer = client.getLocalPlayer();
-		boolean isFemale = localPlayer != null && localPlayer.getPlayerComposition() != null && localPlayer.getPlayerComposition().isFemale();
+		yOffset = layoutCollectedCounts(out, panelWidth, yOffset, fm);
 
-		for (String outfitName : SkillingOutfitData.OUTFITS_DATA.keySet())
+		for (int outfit = 0; outfit < SkillingOutfitCatalog.outfitCount(); outfit++)
 		{
-			if (!shouldDisplayOutfit(outfitName)) continue;
-
-			SkillingOutfitData.SkillingOutfitDataEntry entry = SkillingOutfitData.OUTFITS_DATA.get(outfitName);
-			if (entry == null) continue;
-			if (outfitName.equals("Farming - Farmer's Outfit Male") && isFemale) continue;
-			if (outfitName.equals("Farming - Farmer's Outfit Female") && !isFemale) continue;
+			if (!shouldDisplayOutfit(outfit)) continue;
+			if (!SkillingOutfitCatalog.outfitBodyType(outfit).matches(isFemale)) continue;
 
-			yOffset = paintOutfit(entry, outfitName, g, panelWidth, yOffset, fm);
+			yOffset = layoutOutfit(out, outfit, panelWidth, yOffset, fm);
 		}
 
-		drawItemHoverTooltip(g);
-		drawOutfitHoverTooltip(g);
+		out.setHeight(yOffset);
+		return out;
 	}
 
-	private int paintCollectedCounts(Graphics2D g, int panelWidth, int yOffset, FontMetrics fm)
+	private int layoutCollectedCounts(SkillingOutfitLayout out, int panelWidth, int yOffset, FontMetrics fm)
 	{
-		if (config.displayCollectedOutfits())
+		if (settings.isDisplayCollectedOutfits())
 		{
-			int ownedOutfits = (int) SkillingOutfitData.OUTFITS_DATA.values().stream()
-					.filter(entry -> entry.items.values().stream().allMatch(item -> isItemOwnedCached(item.getItemId())))
-					.count();
-			int totalOutfits = SkillingOutfitData.OUTFITS_DATA.size();
+			int ownedOutfits = state.getOwnedOutfits();
+			int totalOutfits = state.getTotalOutfits();
 			String text = "Collected: " + ownedOutfits + " / " + totalOutfits + " Outfits";
-			g.setColor(getCollectedColor(ownedOutfits, totalOutfits));
-			yOffset += config.outfitTextSpacer();
-			g.drawString(text, (panelWidth - fm.stringWidth(text)) / 2, yOffset + fm.getAscent());
+			yOffset += settings.getOutfitTextSpacer();
+			out.text(text, (panelWidth - fm.stringWidth(text)) / 2, yOffset + fm.getAscent(), getCollectedColor(ownedOutfits, totalOutfits));
 			yOffset += fm.getHeight();
 		}
 
-		if (config.displayCollectedItems())
+		if (settings.isDisplayCollectedItems())
 		{
-			int ownedItems = (int) SkillingOutfitData.OUTFITS_DATA.values().stream()
-					.flatMap(entry -> entry.items.values().stream())
-					.mapToInt(item -> isItemOwnedCached(item.getItemId()) ? 1 : 0)
-					.sum();
-			int totalItems = SkillingOutfitData.OUTFITS_DATA.values().stream().mapToInt(entry -> entry.items.size()).sum();
+			int ownedItems = state.getOwnedItems();
+			int totalItems = state.getTotalItems();
 			String text = "Collected: " + ownedItems + " / " + totalItems + " Items";
-			g.setColor(getCollectedColor(ownedItems, totalItems));
-			yOffset += config.itemTextSpacer();
-			g.drawString(text, (panelWidth - fm.stringWidth(text)) / 2, yOffset + fm.getAscent());
+			yOffset += settings.getItemTextSpacer();
+			out.text(text, (panelWidth - fm.stringWidth(text)) / 2, yOffset + fm.getAscent(), getCollectedColor(ownedItems, totalItems));
 			yOffset += fm.getHeight();
 		}
 		return yOffset;
 	}
 
-	private int paintOutfit(SkillingOutfitData.SkillingOutfitDataEntry entry, String outfitName, Graphics2D g, int panelWidth, int yOffset, FontMetrics fm)
+	private int layoutOutfit(SkillingOutfitLayout out, int outfit, int panelWidth, int yOffset, FontMetrics fm)
 	{
-		Map<Integer, SkillingOutfitItem> items = entry.items;
-		boolean allObtained = items.values().stream().allMatch(item -> isItemOwnedCached(item.getItemId()));
-		if (allObtained && !config.showObtainedItems()) return yOffset;
+		String outfitName = SkillingOutfitCatalog.outfitName(outfit);
+		String primarySkill = SkillingOutfitCatalog.outfitSkill(outfit);
+		boolean allObtained = state.isOutfitComplete(outfit);
+		if (allObtained && !settings.isShowObtainedItems()) return yOffset;
+		out.beginSection();
 
 		// ----------------------------
 		// Outfit title
 		// ----------------------------
-		yOffset += config.firstOutfitSpacer();
+		yOffset += settings.getFirstOutfitSpacer();
 		// Determine outfit color (respecting override config)
 		Color outfitColor;
-		if (config.overrideOutfitColors())                   // Use the user's custom override color
+		if (settings.isOverrideOutfitColors())                   // Use the user's custom override color
 		{
-			outfitColor = config.outfitNameColor();
+			outfitColor = settings.getOutfitNameColor();
 		}
 		else                                                 // Use the default color based on primary skill (or fallback cyan)
 		{
-			outfitColor = (entry.primarySkill != null)
-					? SKILL_COLORS.getOrDefault(entry.primarySkill, Color.CYAN)
-					: Color.CYAN;
+			outfitColor = SKILL_COLORS.getOrDefault(primarySkill, Color.CYAN);
 		}
-		// Draw the outfit title
-		g.setColor(outfitColor);
+		// Place the outfit title
 		int nameWidth = fm.stringWidth(outfitName);
 		int outfitX = (panelWidth - nameWidth) / 2;
-		g.drawString(outfitName, outfitX, yOffset + fm.getAscent());
+		out.text(outfitName, outfitX, yOffset + fm.getAscent(), outfitColor);
 		// Track hover bounds
-		outfitBounds.put(outfitName, new Rectangle(outfitX, yOffset, nameWidth, fm.getHeight()));
+		out.outfit(outfit, new Rectangle(outfitX, yOffset, nameWidth, fm.getHeight()));
 		// Increment offset
 		yOffset += fm.getHeight();
 
 		// ----------------------------
 		// Main points / cost line
 		// ----------------------------
-		yOffset += config.totalNeededTextSpacer();
-		String pointsLine = buildPointsLine(entry, items);
+		yOffset += settings.getTotalNeededTextSpacer();
+		String pointsLine = buildPointsLine(outfit);
 		if (!pointsLine.isEmpty())
 		{
-			g.setColor(Color.LIGHT_GRAY);
-			g.drawString(pointsLine, (panelWidth - fm.stringWidth(pointsLine)) / 2, yOffset + fm.getAscent());
+			out.text(pointsLine, (panelWidth - fm.stringWidth(pointsLine)) / 2, yOffset + fm.getAscent(), Color.LIGHT_GRAY);
 			yOffset += fm.getHeight();
 		}
 
 		// ----------------------------
 		// Icons
 		// ----------------------------
-		yOffset += config.iconTextSpacer();
-		List<Map.Entry<Integer, SkillingOutfitItem>> itemList = items.entrySet().stream()
-				.filter(e -> config.showObtainedItems() || !isItemOwnedCached(e.getKey()))
-				.collect(Collectors.toList());
+		yOffset += settings.getIconTextSpacer();
+		int firstItem = SkillingOutfitCatalog.firstItem(outfit);
+		int endItem = firstItem + SkillingOutfitCatalog.outfitSize(outfit);
+		int[] shown = new int[endItem - firstItem];
+		int totalItems = 0;
+		for (int itemIndex = firstItem; itemIndex < endItem; itemIndex++)
+			if (settings.isShowObtainedItems() || !state.isPieceOwned(itemIndex))
+				shown[totalItems++] = itemIndex;
 
-		int totalItems = itemList.size();
-		int rows = (int) Math.ceil(totalItems / (double) config.maxCols());
+		int rows = (int) Math.ceil(totalItems / (double) settings.getMaxCols());
 
 		for (int row = 0; row < rows; row++)
 		{
-			int itemsInRow = Math.min(config.maxCols(), totalItems - row * config.maxCols());
-			int rowWidth = itemsInRow * config.iconSize() + (itemsInRow - 1) * config.iconGapSpacing();
+			int itemsInRow = Math.min(settings.getMaxCols(), totalItems - row * settings.getMaxCols());
+			int rowWidth = itemsInRow * settings.getIconSize() + (itemsInRow - 1) * settings.getIconGapSpacing();
 			int startX = (panelWidth - rowWidth) / 2;
 
 			for (int col = 0; col < itemsInRow; col++)
 			{
-				int index = row * config.maxCols() + col;
-				var entryItem = itemList.get(index);
-				int itemId = entryItem.getKey();
-				BufferedImage sprite = itemSprites.get(itemId);
-				if (sprite == null) continue;
+				int itemIndex = shown[row * settings.getMaxCols() + col];
+				int itemId = SkillingOutfitCatalog.itemId(itemIndex);
+				if (!spriteCache.contains(itemId)) continue;
 
-				int x = startX + col * (config.iconSize() + config.iconGapSpacing());
-				int y = yOffset + row * (config.iconSize() + config.iconGapSpacing());
-				g.drawImage(sprite, x, y, config.iconSize(), config.iconSize(), null);
+				int x = startX + col * (settings.getIconSize() + settings.getIconGapSpacing());
+				int y = yOffset + row * (settings.getIconSize() + settings.getIconGapSpacing());
+				boolean owned = state.isPieceOwned(itemIndex);
+				out.sprite(itemId, x, y, settings.getIconSize(), !owned && settings.isDimUnownedItems());
 
-				if (isItemOwnedCached(itemId) && config.showObtainedItems())
+				if (owned && settings.isShowObtainedItems())
 				{
-					g.setColor(Color.GREEN);
-					g.setStroke(new BasicStroke(2));
-					g.drawRect(x, y, config.iconSize(), config.iconSize());
+					out.border(x, y, settings.getIconSize(), Color.GREEN);
 				}
 
-				iconBounds.put(itemId, new Rectangle(x, y, config.iconSize(), config.iconSize()));
-				hoverItemMap.put(itemId, entryItem.getValue());
+				out.icon(itemIndex, new Rectangle(x, y, settings.getIconSize(), settings.getIconSize()));
 			}
 		}
-		yOffset += rows * (config.iconSize() + config.iconGapSpacing());
+		yOffset += rows * (settings.getIconSize() + settings.getIconGapSpacing());
 
 		// ----------------------------
 		// Extra costs (centered)
 		// ----------------------------
-		yOffset = drawOutfitExtraCosts(g, entry.items, panelWidth, yOffset);
+		yOffset = layoutOutfitExtraCosts(out, outfit, panelWidth, yOffset, fm);
 
 		return yOffset;
 	}
 
-	// Updated buildPointsLine to only count remaining unowned items
-	private String buildPointsLine(SkillingOutfitData.SkillingOutfitDataEntry entry, Map<Integer, SkillingOutfitItem> items)
+	// Cached per outfit by the derived stats, only reformatted when its figures change
+	private String buildPointsLine(int outfit)
 	{
-		if (!config.showTotalObtain()) return "";
+		if (!settings.isShowTotalObtain()) return "";
 
 		// Only hide the line if the WHOLE SET is obtained
-		boolean fullSetOwned = items.values().stream()
-				.allMatch(i -> isItemOwnedCached(i.getItemId()));
+		boolean fullSetOwned = state.isOutfitComplete(outfit);
 		if (fullSetOwned)
 		{
 			return "";
 		}
 
-		int totalRequired = items.values().stream()
-				.filter(i -> !isItemOwnedCached(i.getItemId()))
-				.mapToInt(SkillingOutfitItem::getRequirement)
-				.sum();
-
-		int costItemId = items.values().stream()
-				.filter(i -> !isItemOwnedCached(i.getItemId()))
-				.mapToInt(SkillingOutfitItem::getCostItemId)
-				.findFirst().orElse(-1);
-		String costText = items.values().stream()
-				.filter(i -> !isItemOwnedCached(i.getItemId()))
-				.map(SkillingOutfitItem::getCostText)
-				.findFirst().orElse("");
-
-		int totalAvailable = (costItemId != -1)
-				? tracker.getTotalCostItem(costItemId)
-				: 0;
-
-		switch (entry.primarySkill)
-		{
-			case "Construction": return tracker.getCarpenterPoints() + "/" + totalRequired + " Carpenter Points Owned";
-			case "Farming": return tracker.getTitheFarmPoints() + "/" + totalRequired + " Farming Points Owned";
-			case "Smithing": return tracker.getFoundryReputation() + "/" + totalRequired + " Reputation Owned";
-			case "Firemaking": return tracker.getWintertodtCrates() + " Wintertodt Subdued";
-			case "Fishing": return tracker.getTemporossPoints() + " Tempoross Kills";
-			case "Hunter": return tracker.getHunterRumors() + " Hunter Rumors Completed";
-			case "Prayer": return "Shade Catacombs - Gold Chest";
-			case "Agility": return totalAvailable + "/" + totalRequired + " " + costText + " Owned";
-			case "Woodcutting": return tracker.getAnimaBark() + "/" + totalRequired + " " + costText + " Owned";
-			case "Thieving": return tracker.getRoguesDenAttempts() + " Safes Opened";
-			default: return totalAvailable + "/" + totalRequired + " " + costText + " Owned";
-		}
-	}
-
-	private int sumRequirements(Map<Integer, SkillingOutfitItem> items)
-	{
-		return items.values().stream()
-				.filter(item -> !isItemOwnedCached(item.getItemId())) // only count unowned items
-				.mapToInt(SkillingOutfitItem::getRequirement)
-				.sum();
+		return stats.getPointsLine(outfit);
 	}
 
-	private boolean shouldDisplayOutfit(String outfitName)
+	private boolean shouldDisplayOutfit(int outfit)
 	{
-		BooleanSupplier supplier = outfitDisplayMap.get(outfitName);
-		return supplier != null && supplier.getAsBoolean();
+		return settings.isOutfitDisplayed(outfit);
 	}
 
 	private Color getCollectedColor(long owned, long total)
 	{
-		if (!config.colorTextForCollected()) return Color.WHITE;
+		if (!settings.isColorTextForCollected()) return Color.WHITE;
 		double percent = total == 0 ? 0 : (owned * 100.0 / total);
 		if (percent <= 33) return Color.RED;
 		else if (percent <= 65) return Color.ORANGE;
@@ -392,130 +473,35 @@ public class SkillingOutfitPanel extends PluginPanel
 		else return Color.GREEN;
 	}
 
+	// Hit boxes come from the retained layout, so they stay valid between paints. Catalog indices, -1 for none
 	private int getItemAt(int x, int y)
 	{
-		for (var entry : iconBounds.entrySet())
-			if (entry.getValue().contains(x, y)) return entry.getKey();
-		return -1;
+		return currentLayout().itemAt(x, y);
 	}
 
-	private String getOutfitAt(int x, int y)
+	private int getOutfitAt(int x, int y)
 	{
-		for (var entry : outfitBounds.entrySet())
-			if (entry.getValue().contains(x, y)) return entry.getKey();
-		return null;
+		return currentLayout().outfitAt(x, y);
 	}
 
-	private boolean isItemOwnedCached(int itemId)
-	{
-		// First, find the SkillingOutfitItem for this ID
-		SkillingOutfitItem outfitItem = null;
-		outer:
-		for (var entry : SkillingOutfitData.OUTFITS_DATA.values())
-			for (SkillingOutfitItem i : entry.items.values())
-				if (i.getItemId() == itemId)
-				{
-					outfitItem = i;
-					break outer;
-				}
-
-		// If we have an outfitItem, check both main ID and otherItemIds
-		if (outfitItem != null)
-		{
-			// Combine main ID + other IDs into one stream
-			List<Integer> allIds = new ArrayList<>();
-			allIds.add(outfitItem.getItemId());
-			allIds.addAll(outfitItem.getOtherItemIds());
-
-			for (int id : allIds)
-			{
-				if (tracker.getObtainedItems().contains(id)) return true;
-
-				int inv = inventoryCacheSnapshot.getOrDefault(id, 0);
-				int equip = equipmentCacheSnapshot.getOrDefault(id, 0);
-				int bank = bankCacheSnapshot.getOrDefault(id, 0);
-				if ((inv + equip + bank) > 0) return true;
-			}
-
-			return false;
-		}
-
-		// fallback: check only tracker and caches for the single ID
-		if (tracker.getObtainedItems().contains(itemId)) return true;
-		int inv = inventoryCacheSnapshot.getOrDefault(itemId, 0);
-		int equip = equipmentCacheSnapshot.getOrDefault(itemId, 0);
-		int bank = bankCacheSnapshot.getOrDefault(itemId, 0);
-		return (inv + equip + bank) > 0;
-	}
-
-
 	public void updateAllCaches()
 	{
 		clientThread.invoke(() -> {
+			// Rescans and publishes a new state version; the EDT picks it up on the next paint
 			tracker.updateAllCaches();
-			inventoryCacheSnapshot.clear(); inventoryCacheSnapshot.putAll(tracker.getInventoryCacheSnapshot());
-			equipmentCacheSnapshot.clear(); equipmentCacheSnapshot.putAll(tracker.getEquipmentCacheSnapshot());
-			bankCacheSnapshot.clear(); bankCacheSnapshot.putAll(tracker.getBankCacheSnapshot());
 			SwingUtilities.invokeLater(innerPanel::repaint);
 		});
 	}
 
-	public int getSnapshotTotalCostItem(int itemId)
+	public void repaintItems()
 	{
-		return inventoryCacheSnapshot.getOrDefault(itemId, 0)
-				+ equipmentCacheSnapshot.getOrDefault(itemId, 0)
-				+ bankCacheSnapshot.getOrDefault(itemId, 0);
+		SwingUtilities.invokeLater(innerPanel::repaint);
 	}
 
-	private Dimension calculatePreferredSize()
-	{
-		int width = 300;
-		int height = config.panelTitleSpacer();
-		FontMetrics fm = getFontMetrics(getFont());
-
-		if (config.displayCollectedOutfits())
-			height += config.outfitTextSpacer() + fm.getHeight();
-		if (config.displayCollectedItems())
-			height += config.itemTextSpacer() + fm.getHeight();
-
-		for (String outfitName : SkillingOutfitData.OUTFITS_DATA.keySet())
-		{
-			if (!shouldDisplayOutfit(outfitName)) continue;
-			SkillingOutfitData.SkillingOutfitDataEntry entry = SkillingOutfitData.OUTFITS_DATA.get(outfitName);
-			if (entry == null) continue;
-
-			height += config.firstOutfitSpacer() + fm.getHeight();               // title
-			height += config.totalNeededTextSpacer() + fm.getHeight();           // points line
-			height += config.iconTextSpacer();                                   // spacing before icons
-
-			int rows = (int) Math.ceil(entry.items.size() / (double) config.maxCols());
-			height += rows * (config.iconSize() + config.iconGapSpacing());      // icons
-
-			// --- Extra costs per item ---
-			for (SkillingOutfitItem item : entry.items.values())
-			{
-				List<SkillingOutfitItem.CostEntry> extra = SkillingOutfitData.EXTRA_COSTS.get(item.getItemId());
-				if (extra != null && !extra.isEmpty())
-				{
-					height += 10; // spacing before header (matches drawOutfitExtraCosts)
-					height += fm.getHeight(); // header line
-					height += fm.getHeight() * extra.size(); // each extra resource line
-					height += 6; // spacing after each item
-				}
-			}
-		}
-
-		// add small bottom buffer
-		height += 80;
-
-		return new Dimension(width, height);
-	}
-
-
-
 	public void refresh()
 	{
 		setupOutfitDisplayMap();
+		configVersion++;
 		if (innerPanel != null)
 		{
 			innerPanel.revalidate();
@@ -523,85 +509,6 @@ public class SkillingOutfitPanel extends PluginPanel
 		}
 	}
 
-	private void drawItemHoverTooltip(Graphics2D g)
-	{
-		if (hoveredItemId == -1) return;
-
-		Rectangle iconRect = iconBounds.get(hoveredItemId);
-		SkillingOutfitItem item = hoverItemMap.get(hoveredItemId);
-		if (iconRect == null || item == null) return;
-
-		List<String> tooltipLines = new ArrayList<>();
-		tooltipLines.add(item.getName());
-
-		StringBuilder requirementLine = new StringBuilder();
-		int requirement = item.getRequirement();
-		String costText = item.getCostText();
-
-		if (requirement > 0)
-		{
-			requirementLine.append(requirement);
-		}
-
-		if (costText != null && !costText.isEmpty())
-		{
-			if (requirementLine.length() > 0) requirementLine.append(" ");
-			requirementLine.append(costText);
-		}
-
-		if (requirementLine.length() > 0)
-		{
-			tooltipLines.add(requirementLine.toString());
-		}
-
-		tooltipLines.add("Click To Open Wiki");
-
-		drawTooltip(g, iconRect, tooltipLines);
-	}
-
-	private void drawOutfitHoverTooltip(Graphics2D g)
-	{
-		if (hoveredOutfitName == null) return;
-		Rectangle outfitRect = outfitBounds.get(hoveredOutfitName);
-		if (outfitRect == null) return;
-
-		SkillingOutfitData.SkillingOutfitDataEntry entry = SkillingOutfitData.OUTFITS_DATA.get(hoveredOutfitName);
-		if (entry == null) return;
-
-		int owned = (int) entry.items.values().stream().filter(i -> isItemOwnedCached(i.getItemId())).count();
-		int total = entry.items.size();
-		int totalRequired = entry.items.values().stream().filter(i -> !isItemOwnedCached(i.getItemId())).mapToInt(SkillingOutfitItem::getRequirement).sum();
-		int costItemId = entry.items.values().stream().filter(i -> !isItemOwnedCached(i.getItemId())).mapToInt(SkillingOutfitItem::getCostItemId).findFirst().orElse(-1);
-		int costAvailable = getSnapshotTotalCostItem(costItemId);
-		String costText = entry.items.values().stream().filter(i -> !isItemOwnedCached(i.getItemId())).map(SkillingOutfitItem::getCostText).findFirst().orElse("");
-
-		List<String> lines = new ArrayList<>();
-		lines.add("Owned: " + owned + "/" + total + " Items");
-		if (totalRequired > 0) lines.add(costAvailable + "/" + totalRequired + " " + costText + " Owned");
-		lines.add("Click To Open Wiki");
-
-		drawTooltip(g, outfitRect, lines);
-	}
-
-	private void drawTooltip(Graphics2D g, Rectangle rect, List<String> lines)
-	{
-		FontMetrics fm = g.getFontMetrics();
-		int padding = 4;
-		int overlayWidth = lines.stream().mapToInt(fm::stringWidth).max().orElse(0) + padding * 2;
-		int overlayHeight = lines.size() * fm.getHeight() + padding * 4;
-
-		int x = (getWidth() - overlayWidth) / 2;
-		int y = rect.y + rect.height + 5;
-
-		g.setColor(new Color(0, 0, 0, 220));
-		g.fillRect(x, y, overlayWidth, overlayHeight);
-		g.setColor(Color.WHITE);
-		g.drawRect(x, y, overlayWidth, overlayHeight);
-
-		for (int i = 0; i < lines.size(); i++)
-			g.drawString(lines.get(i), x + (overlayWidth - fm.stringWidth(lines.get(i))) / 2, y + padding + i * fm.getHeight() + fm.getAscent());
-	}
-
 	private void openWikiLink(String url)
 	{
 		try
@@ -624,39 +531,43 @@ public class SkillingOutfitPanel extends PluginPanel
 		}
 	}
 
-	// Updated drawOutfitExtraCosts
-	private int drawOutfitExtraCosts(Graphics2D g, Map<Integer, SkillingOutfitItem> items, int panelWidth, int startY)
+	// Updated layoutOutfitExtraCosts
+	private int layoutOutfitExtraCosts(SkillingOutfitLayout out, int outfit, int panelWidth, int startY, FontMetrics fm)
 	{
 		// Skip entirely if the user disabled "Show Price To Obtain"
-		if (!config.showTotalObtain() || !config.showItemTotalObtain())
+		if (!settings.isShowTotalObtain() || !settings.isShowItemTotalObtain())
 		{
 			return startY;
 		}
 
 		int y = startY;
 		y += 10; // spacing before totals
-		FontMetrics fm = g.getFontMetrics();
 
-		for (SkillingOutfitItem item : items.values())
+		// ---- Header color is the same for every piece of the outfit ----
+		Color headerColor = settings.isOverrideOutfitColors()
+				? settings.getOutfitNameColor()
+				: SKILL_COLORS.getOrDefault(SkillingOutfitCatalog.outfitSkill(outfit), new Color(180, 200, 255));
+
+		int firstItem = SkillingOutfitCatalog.firstItem(outfit);
+		int endItem = firstItem + SkillingOutfitCatalog.outfitSize(outfit);
+		for (int itemIndex = firstItem; itemIndex < endItem; itemIndex++)
 		{
-			List<SkillingOutfitItem.CostEntry> extra = SkillingOutfitData.EXTRA_COSTS.get(item.getItemId());
-			if (extra == null || extra.isEmpty())
+			int firstCost = SkillingOutfitCatalog.firstExtraCost(itemIndex);
+			int endCost = SkillingOutfitCatalog.extraCostEnd(itemIndex);
+			if (firstCost == endCost)
 				continue;
 
 			// ✅ Skip if player already owns this outfit item
-			if (tracker.getObtainedItems().contains(item.getItemId()))
+			if (state.isPieceOwned(itemIndex))
 			{
 				continue;
 			}
 
 			// ---- Check if all extra costs are already met ----
 			boolean allObtained = true;
-			for (SkillingOutfitItem.CostEntry e : extra)
+			for (int cost = firstCost; cost < endCost; cost++)
 			{
-				int owned = (e.getItemId() == 28134)
-						? config.animaBark()
-						: tracker.getTotalCostItem(e.getItemId());
-				if (owned < e.getAmount())
+				if (extraCostOwned(cost) < SkillingOutfitCatalog.extraCostAmount(cost))
 				{
 					allObtained = false;
 					break;
@@ -667,41 +578,18 @@ public class SkillingOutfitPanel extends PluginPanel
 			if (allObtained)
 				continue;
 
-			// ---- Determine primary skill for this item ----
-			String primarySkill = null;
-			for (SkillingOutfitData.SkillingOutfitDataEntry entry : SkillingOutfitData.OUTFITS_DATA.values())
-			{
-				if (entry.items.containsKey(item.getItemId()))
-				{
-					primarySkill = entry.primarySkill;
-					break;
-				}
-			}
-
-			// ---- Determine header color ----
-			Color headerColor = config.overrideOutfitColors()
-					? config.outfitNameColor()
-					: (primarySkill != null
-					? SKILL_COLORS.getOrDefault(primarySkill, new Color(180, 200, 255))
-					: new Color(180, 200, 255));
-
-			// ---- Draw header ----
-			String header = item.getName() + " Total Cost";
+			// ---- Place header ----
+			String header = SkillingOutfitCatalog.item(itemIndex).getName() + " Total Cost";
 			int headerX = (panelWidth - fm.stringWidth(header)) / 2;
-			g.setColor(headerColor);
-			g.drawString(header, headerX, y);
+			out.text(header, headerX, y, headerColor);
 			y += fm.getHeight();
 
-			// ---- Draw resource lines ----
-			g.setColor(Color.LIGHT_GRAY);
-			for (SkillingOutfitItem.CostEntry e : extra)
+			// ---- Place resource lines ----
+			for (int cost = firstCost; cost < endCost; cost++)
 			{
-				int owned = (e.getItemId() == 28134)
-						? config.animaBark()
-						: tracker.getTotalCostItem(e.getItemId());
-				String line = String.format("%,d/%d %s", owned, e.getAmount(), e.getItemName());
+				String line = String.format("%,d/%d %s", extraCostOwned(cost), SkillingOutfitCatalog.extraCostAmount(cost), SkillingOutfitCatalog.extraCostName(cost));
 				int lineX = (panelWidth - fm.stringWidth(line)) / 2;
-				g.drawString(line, lineX, y);
+				out.text(line, lineX, y, Color.LIGHT_GRAY);
 				y += fm.getHeight();
 			}
 
@@ -711,4 +599,9 @@ public class SkillingOutfitPanel extends PluginPanel
 		return y;
 	}
 
+	private int extraCostOwned(int cost)
+	{
+		return state.getAmountHeld(SkillingOutfitCatalog.extraCostId(cost));
+	}
+
 }
\ No newline at end of file
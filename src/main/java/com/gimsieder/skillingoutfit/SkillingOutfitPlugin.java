@@ -15,6 +15,7 @@ import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
+import net.runelite.client.RuneLite;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
@@ -25,11 +26,11 @@ import javax.inject.Inject;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.ObjIntConsumer;
 
 @PluginDescriptor(
 		name = "Skilling Outfit Tracker",
@@ -53,30 +54,67 @@ public class SkillingOutfitPlugin extends Plugin
 	private SkillingOutfitWindow popoutWindow;
 	private SkillingOutfitPanel panel;
 	private final String configGroup = "skillingoutfit";
+	private static final int BANK_GROUP_ID = 12;
 
-	// ===== Patterns for minigame tracking =====
-	private static final Pattern CONTRACT_PATTERN = Pattern.compile(
-			"You have completed <col=[0-9a-f]+>(\\d+)</col> contracts with a total of <col=[0-9a-f]+>(\\d+)</col> points\\."
-	);
-	// Farming Not Completed
-	private static final Pattern TITHE_FARM_PATTERN = Pattern.compile(
-			"You now have <col=[0-9a-f]+>(\\d+)</col> reward points\\."
-	);
-	private static final Pattern TEMPOROSS_PATTERN = Pattern.compile(
-			"Your Tempoross kill count is: <col=[0-9a-f]+>(\\d+)</col>\\."
-	);
-	private static final Pattern HUNTER_PATTERN = Pattern.compile(
-			"You have completed <col=[0-9a-fA-F]+>(\\d+)</col> rumours for the Hunter Guild\\."
-	);
-	private static final Pattern WINTERTODT_PATTERN = Pattern.compile(
-			"Your subdued Wintertodt count is: <col=[0-9a-f]+>(\\d+)</col>\\."
-	);
-	private static final Pattern ANIMA_BARK_PATTERN = Pattern.compile(
-			"You've been awarded\\s*(?:<col=[0-9A-Fa-f]+>)?([\\d,]+)\\s*Anima-infused bark(?:</col>)?\\.?"
-	);
-	private static final Pattern ROGUES_DEN = Pattern.compile(
-			"You start cracking the safe\\."
-	);
+	// Everything that changed this tick, applied once from onGameTick
+	private final SkillingOutfitChangeCollector changes = new SkillingOutfitChangeCollector();
+	private final IntPredicate containerApplier = this::applyContainerChange;
+	private final ObjIntConsumer<String> counterWriter = (key, value) ->
+	{
+		SkillingOutfitFlightEvents.ConfigWrite event = new SkillingOutfitFlightEvents.ConfigWrite();
+		event.begin();
+		long start = tracker.getMetrics().begin(SkillingOutfitMetrics.CONFIG_WRITE);
+		configManager.setConfiguration(configGroup, key, value);
+		tracker.getMetrics().end(SkillingOutfitMetrics.CONFIG_WRITE, start);
+		SkillingOutfitFlightEvents.commitConfigWrite(event, key, value);
+	};
+
+	// Optional capture of inbound events for offline replay
+	private final SkillingOutfitEventRecorder recorder = new SkillingOutfitEventRecorder();
+	private static final File RECORDINGS_DIR = new File(RuneLite.RUNELITE_DIR, "skillingoutfit/recordings");
+	static final File DIAGNOSTICS_DIR = new File(RuneLite.RUNELITE_DIR, "skillingoutfit/diagnostics");
+
+	// ===== Chat rules for minigame tracking =====
+	// Each rule: a literal keyword for the single-pass scan, the capture pattern, and its handler
+	private final SkillingOutfitChatDispatcher chatDispatcher = SkillingOutfitChatDispatcher.builder()
+			// Mahogany Homes
+			.rule("contracts with a total of",
+					"You have completed <col=[0-9a-f]+>(\\d+)</col> contracts with a total of <col=[0-9a-f]+>(\\d+)</col> points\\.",
+					v -> {
+						recordCounter(SkillingOutfitCurrency.CARPENTER_CONTRACTS, v[0]);
+						recordCounter(SkillingOutfitCurrency.CARPENTER_POINTS, v[1]);
+					})
+			// Farming Not Completed
+			.rule("reward points.",
+					"You now have <col=[0-9a-f]+>(\\d+)</col> reward points\\.",
+					v -> recordCounter(SkillingOutfitCurrency.FARMING_POINTS, v[0]))
+			.rule("Tempoross kill count",
+					"Your Tempoross kill count is: <col=[0-9a-f]+>(\\d+)</col>\\.",
+					v -> recordCounter(SkillingOutfitCurrency.TEMPOROSS_POINTS, v[0]))
+			.rule("rumours for the Hunter Guild",
+					"You have completed <col=[0-9a-fA-F]+>(\\d+)</col> rumours for the Hunter Guild\\.",
+					v -> recordCounter(SkillingOutfitCurrency.HUNTER_RUMORS, v[0]))
+			// Wintertodt
+			.rule("subdued Wintertodt count",
+					"Your subdued Wintertodt count is: <col=[0-9a-f]+>(\\d+)</col>\\.",
+					v -> {
+						if (v[0] > tracker.getBalance(SkillingOutfitCurrency.WINTERTODT_CRATES))
+							recordCounter(SkillingOutfitCurrency.WINTERTODT_CRATES, v[0]);
+					})
+			// Anima-Infused Bark
+			.rule("Anima-infused bark",
+					"You've been awarded\\s*(?:<col=[0-9A-Fa-f]+>)?([\\d,]+)\\s*Anima-infused bark(?:</col>)?\\.?",
+					v -> {
+						addToCounter(SkillingOutfitCurrency.ANIMA_BARK, v[0]);
+
+						// Print to in-game chat
+						client.addChatMessage(ChatMessageType.GAMEMESSAGE, "[SOT]", "Added " + v[0] + " Anima Bark To Total", null);
+					})
+			// Rogues' Den - Safe Attempts
+			.rule("You start cracking the safe",
+					"You start cracking the safe\\.",
+					v -> addToCounter(SkillingOutfitCurrency.ROGUES_DEN_ATTEMPTS, 1))
+			.build();
 
 		// ===== Startup =====
 	@Override
@@ -119,20 +157,23 @@ public class SkillingOutfitPlugin extends Plugin
 			});
 		});
 
-		loadMinigameStat("mahoganyContracts", tracker::setCarpenterContracts, 0);
-		loadMinigameStat("mahoganyPoints", tracker::setCarpenterPoints, 0);
-		loadMinigameStat("farmingPoints", tracker::setFarmingPoints, 0);
-		loadMinigameStat("temporossPoints", tracker::setTemporossPoints, 0);
-		loadMinigameStat("hunterRumors", tracker::setHunterRumors, 0);
-		loadMinigameStat("wintertodtCrates", tracker::setWintertodtCrates, 0);
-		loadMinigameStat("animaBark", tracker::setAnimaBark, 0);
-		loadMinigameStat("roguesDenAttempts", tracker::setRoguesDenAttempts, 0);
+		for (SkillingOutfitCurrency currency : SkillingOutfitCurrency.values())
+			if (currency.getConfigKey() != null)
+				loadMinigameStat(currency, 0);
+
+		if (config.recordEvents())
+			clientThread.invokeLater(() -> recorder.start(RECORDINGS_DIR));
+
+		tracker.getMetrics().setEnabled(config.diagnostics());
+		panel.setDiagnosticsVisible(config.diagnostics());
 	}
 
 	// ===== Shutdown =====
 	@Override
 	protected void shutDown()
 	{
+		clientThread.invoke(recorder::stop);
+		clientThread.invoke(tracker::saveBankCache);
 		if (navButton != null) clientToolbar.removeNavigation(navButton);
 		if (popoutWindow != null)
 		{
@@ -144,6 +185,20 @@ public class SkillingOutfitPlugin extends Plugin
 	// ===== Chat Message Parsing =====
 	@Subscribe
 	public void onChatMessage(ChatMessage event)
+	{
+		SkillingOutfitMetrics metrics = tracker.getMetrics();
+		long start = metrics.begin(SkillingOutfitMetrics.CHAT);
+		try
+		{
+			handleChatMessage(event);
+		}
+		finally
+		{
+			metrics.end(SkillingOutfitMetrics.CHAT, start);
+		}
+	}
+
+	private void handleChatMessage(ChatMessage event)
 	{
 		ChatMessageType type = event.getType();
 		if (type != ChatMessageType.GAMEMESSAGE && type != ChatMessageType.SPAM)
@@ -151,89 +206,134 @@ public class SkillingOutfitPlugin extends Plugin
 			return;
 		}
 
-		String message = event.getMessage();
-
-		// Mahogany Homes
-		if (handleTwoValueMessage(CONTRACT_PATTERN, message,
-				(contracts, points) -> {
-					tracker.setCarpenterContracts(contracts);
-					tracker.setCarpenterPoints(points);
-					persistConfig("mahoganyContracts", contracts);
-					persistConfig("mahoganyPoints", points);
-				})) return;
-
-		// Single-value minigames
-		if (handleSingleValueMessage(TITHE_FARM_PATTERN, message, tracker::setFarmingPoints, "farmingPoints")) return;
-		if (handleSingleValueMessage(TEMPOROSS_PATTERN, message, tracker::setTemporossPoints, "temporossPoints")) return;
-		if (handleSingleValueMessage(HUNTER_PATTERN, message, tracker::setHunterRumors, "hunterRumors")) return;
-
-		// Wintertodt
-		if (handleSingleValueMessage(WINTERTODT_PATTERN, message, crates -> {
-			if (crates > tracker.getWintertodtCrates()) {
-				tracker.setWintertodtCrates(crates);
-				persistConfig("wintertodtCrates", crates);
-				safeUpdatePanel(panel::updateAllCaches);
-			}
-		}, null)) return;
-
-		// Anima-Infused Bark
-		if (handleSingleValueMessage(ANIMA_BARK_PATTERN, message, bark -> {
-			int newTotal = tracker.getAnimaBark() + bark;
-			tracker.setAnimaBark(newTotal);
-			persistConfig("animaBark", newTotal);
-			safeUpdatePanel(panel::updateAllCaches);
-
-			// Print to in-game chat
-			client.addChatMessage(ChatMessageType.GAMEMESSAGE, "[SOT]", "Added " + bark + " Anima Bark To Total", null);
-		}, null)) return;
-
-		// Rogues' Den - Safe Attempts
-		Matcher rogue = ROGUES_DEN.matcher(message);
-		if (rogue.find())
-		{
-			int newValue = tracker.getRoguesDenAttempts() + 1;
-			tracker.setRoguesDenAttempts(newValue);
-			persistConfig("roguesDenAttempts", newValue);
+		if (recorder.isRecording())
+			recorder.chat(type, event.getMessage());
 
-			safeUpdatePanel(panel::updateAllCaches);
-			return;
-		}
+		// One keyword scan rejects unrelated lines; only the matching rule runs its regex.
+		// Handlers record their counter writes, which are flushed with one repaint on the next tick
+		chatDispatcher.dispatch(event.getMessage());
 	}
 
 	// ===== Item Container Changes =====
 	@Subscribe
 	public void onItemContainerChanged(ItemContainerChanged event)
+	{
+		SkillingOutfitMetrics metrics = tracker.getMetrics();
+		long start = metrics.begin(SkillingOutfitMetrics.CONTAINER);
+		try
+		{
+			handleItemContainerChanged(event);
+		}
+		finally
+		{
+			metrics.end(SkillingOutfitMetrics.CONTAINER, start);
+		}
+	}
+
+	private void handleItemContainerChanged(ItemContainerChanged event)
 	{
 		int id = event.getContainerId();
 		if (id == InventoryID.INVENTORY.getId()
 				|| id == InventoryID.EQUIPMENT.getId()
 				|| id == InventoryID.BANK.getId())
 		{
-			safeUpdatePanel(() -> {
-				tracker.updateAllCaches();
-				panel.updateAllCaches();
-				tracker.updateOwnedItemsFromCaches();
-			});
+			if (recorder.isRecording())
+				recorder.container(id, event.getItemContainer().getItems());
+
+			// Several events for the same container in one tick collapse into one rescan
+			changes.markContainer(id);
+		}
+	}
+
+	// ===== Bank Persistence =====
+	@Subscribe
+	public void onGameTick(GameTick event)
+	{
+		SkillingOutfitMetrics metrics = tracker.getMetrics();
+		long start = metrics.begin(SkillingOutfitMetrics.GAME_TICK);
+		try
+		{
+			handleGameTick(event);
+		}
+		finally
+		{
+			metrics.end(SkillingOutfitMetrics.GAME_TICK, start);
+		}
+	}
+
+	private void handleGameTick(GameTick event)
+	{
+		if (recorder.isRecording())
+			recorder.tick();
+		tracker.getMetrics().tick();
+
+		applyPendingChanges();
+		tracker.flushBankCacheIfDue();
+	}
+
+	// Applies what the collector recorded since the last tick, so a forced bank flush never misses a pending change
+	private void applyPendingChanges()
+	{
+		if (changes.apply(containerApplier, counterWriter))
+		{
+			tracker.publishState();
+			if (panel != null)
+				panel.repaintItems();
+		}
+	}
+
+	// Only the container named by the event is rescanned; unchanged IDs are skipped
+	private boolean applyContainerChange(int containerId)
+	{
+		return tracker.applyContainerChange(containerId, client.getItemContainer(containerId));
+	}
+
+	@Subscribe
+	public void onWidgetClosed(WidgetClosed event)
+	{
+		if (event.getGroupId() == BANK_GROUP_ID)
+		{
+			applyPendingChanges();
+			tracker.saveBankCache();
 		}
 	}
 
 	@Subscribe
 	public void onVarbitChanged(VarbitChanged event)
+	{
+		SkillingOutfitMetrics metrics = tracker.getMetrics();
+		long start = metrics.begin(SkillingOutfitMetrics.VARBIT);
+		try
+		{
+			handleVarbitChanged(event);
+		}
+		finally
+		{
+			metrics.end(SkillingOutfitMetrics.VARBIT, start);
+		}
+	}
+
+	private void handleVarbitChanged(VarbitChanged event)
 	{
 		int varbitId = event.getVarbitId();
 		int varpId = event.getVarpId();
 
+		if (recorder.isRecording())
+			recorder.varbit(varpId, varbitId, event.getValue());
+
 		// Foundry Rep — varp
 		if (varpId == tracker.FOUNDRY_REPUTATION)
 		{
-			tracker.foundryReputation = client.getVarpValue(tracker.FOUNDRY_REPUTATION);
+			if (tracker.setBalance(SkillingOutfitCurrency.FOUNDRY_REPUTATION, client.getVarpValue(tracker.FOUNDRY_REPUTATION), SkillingOutfitCurrencyLedger.SOURCE_VARBIT))
+				changes.markRepaint();
 		}
 
 		// Tithe Farm Points — varbit
 		else if (varbitId == tracker.FARMING_POINTS)
 		{
 			int points = client.getVarbitValue(tracker.FARMING_POINTS);
-			tracker.titheFarmPoints = points;
+			if (tracker.setBalance(SkillingOutfitCurrency.TITHE_FARM_POINTS, points, SkillingOutfitCurrencyLedger.SOURCE_VARBIT))
+				changes.markRepaint();
 		}
 	}
 
@@ -241,23 +341,36 @@ public class SkillingOutfitPlugin extends Plugin
 	@Subscribe
 	public void onGameStateChanged(GameStateChanged event)
 	{
-		if (event.getGameState() == GameState.LOGGED_IN)
+		SkillingOutfitMetrics metrics = tracker.getMetrics();
+		long start = metrics.begin(SkillingOutfitMetrics.GAME_STATE);
+		try
 		{
-			// 1. Update all live caches
-			tracker.updateInventoryCache();
-			tracker.updateEquipmentCache();
-			tracker.updateBankCache();
-			tracker.updateOwnedItems();
+			handleGameStateChanged(event);
+		}
+		finally
+		{
+			metrics.end(SkillingOutfitMetrics.GAME_STATE, start);
+		}
+	}
 
-			// 2. Refresh cost item cache based on actual snapshots
-			tracker.refreshCostItemCache();
+	private void handleGameStateChanged(GameStateChanged event)
+	{
+		if (recorder.isRecording())
+			recorder.gameState(event.getGameState());
 
-			// 3. Update panel safely
-			clientThread.invoke(() -> {
-				panel.updateAllCaches();  // updates snapshots and repaints innerPanel
-				panel.refresh();          // ensures outfit display map is up-to-date
-				tracker.foundryReputation = client.getVarpValue(tracker.FOUNDRY_REPUTATION);
-			});
+		if (event.getGameState() == GameState.LOGIN_SCREEN || event.getGameState() == GameState.HOPPING)
+		{
+			applyPendingChanges();
+			tracker.saveBankCache();
+		}
+
+		if (event.getGameState() == GameState.LOGGED_IN)
+		{
+			// Already on the client thread: rescan every container and publish one state, then repaint on the EDT
+			tracker.setBalance(SkillingOutfitCurrency.FOUNDRY_REPUTATION, client.getVarpValue(tracker.FOUNDRY_REPUTATION), SkillingOutfitCurrencyLedger.SOURCE_VARBIT);
+			tracker.updateAllCaches();
+			if (panel != null)
+				panel.repaintItems();
 		}
 	}
 
@@ -281,19 +394,36 @@ public class SkillingOutfitPlugin extends Plugin
 					}
 					break;
 
+				case "recordEvents":
+					boolean record = config.recordEvents();
+					clientThread.invoke(() -> {
+						if (record) recorder.start(RECORDINGS_DIR);
+						else recorder.stop();
+					});
+					break;
+
+				case "diagnostics":
+					tracker.getMetrics().setEnabled(config.diagnostics());
+					if (panel != null)
+						panel.setDiagnosticsVisible(config.diagnostics());
+					break;
+
 				case "animaBark":
 					if (panel != null)
 					{
-						tracker.setAnimaBark(config.animaBark());
-						panel.refresh();
+						// A new state version, so the layout rebuilds without a config bump
+						clientThread.invoke(() -> {
+							tracker.setBalance(SkillingOutfitCurrency.ANIMA_BARK, config.animaBark(), SkillingOutfitCurrencyLedger.SOURCE_CONFIG);
+							tracker.publishState();
+							panel.repaintItems();
+						});
 					}
 					break;
 
-				default:
-					if (event.getKey().startsWith("display") && panel != null)
-						panel.setupOutfitDisplayMap();
 			}
-			safeUpdatePanel(panel::refresh);
+			// Rebuilds the panel's render settings snapshot, only for keys the panel renders with
+			if (panel != null && SkillingOutfitRenderSettings.isRenderKey(event.getKey()))
+				panel.refresh();
 		});
 	}
 
@@ -312,14 +442,26 @@ public class SkillingOutfitPlugin extends Plugin
 
 	private void persistConfig(String key, int value)
 	{
-		if (key != null) configManager.setConfiguration("skillingoutfit", key, value);
-		safeUpdatePanel(panel::updateAllCaches);
+		if (key != null) changes.markCounter(key, value);
+	}
+
+	// Absolute counter read from chat; only persisted, and repainted, when the balance moved
+	private void recordCounter(SkillingOutfitCurrency currency, int value)
+	{
+		if (tracker.setBalance(currency, value, SkillingOutfitCurrencyLedger.SOURCE_CHAT))
+			persistConfig(currency.getConfigKey(), value);
+	}
+
+	private void addToCounter(SkillingOutfitCurrency currency, int delta)
+	{
+		if (tracker.addToBalance(currency, delta, SkillingOutfitCurrencyLedger.SOURCE_CHAT))
+			persistConfig(currency.getConfigKey(), tracker.getBalance(currency));
 	}
 
-	private void loadMinigameStat(String key, Consumer<Integer> setter, int defaultValue)
+	private void loadMinigameStat(SkillingOutfitCurrency currency, int defaultValue)
 	{
-		Integer stored = configManager.getConfiguration("skillingoutfit", key, Integer.class);
-		setter.accept((stored != null) ? stored : defaultValue);
+		Integer stored = configManager.getConfiguration("skillingoutfit", currency.getConfigKey(), Integer.class);
+		tracker.setBalance(currency, (stored != null) ? stored : defaultValue, SkillingOutfitCurrencyLedger.SOURCE_LOAD);
 	}
 
 	private BufferedImage resizeIcon(BufferedImage icon, int width, int height)
@@ -333,32 +475,8 @@ public class SkillingOutfitPlugin extends Plugin
 		g2d.dispose();
 		return resized;
 	}
-
-	private boolean handleTwoValueMessage(Pattern pattern, String message, java.util.function.BiConsumer<Integer, Integer> handler)
-	{
-		Matcher matcher = pattern.matcher(message);
-		if (matcher.find() && matcher.groupCount() >= 2)
-		{
-			handler.accept(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
-			return true;
-		}
-		return false;
-	}
-
-	private boolean handleSingleValueMessage(Pattern pattern, String message, Consumer<Integer> setter, String configKey)
-	{
-		Matcher matcher = pattern.matcher(message);
-		if (matcher.find())
-		{
-			int value = Integer.parseInt(matcher.group(1));
-			setter.accept(value);
-			if (configKey != null) persistConfig(configKey, value);
-			safeUpdatePanel(panel::updateAllCaches);
-			return true;
-		}
-		return false;
-	}
 }
 
 
 
+
@@ -0,0 +1,100 @@
+package com.gimsieder.skillingoutfit;
+
+import lombok.Getter;
+import net.runelite.client.config.ConfigManager;
+
+import java.awt.*;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of every config value the panel renders with. Rebuilt once per
+ * config change instead of calling config proxies and ConfigManager lookups on every
+ * layout pass.
+ */
+@Getter
+final class SkillingOutfitRenderSettings
+{
+	private final int panelTitleSpacer;
+	private final boolean displayCollectedOutfits;
+	private final int outfitTextSpacer;
+	private final boolean displayCollectedItems;
+	private final int itemTextSpacer;
+	private final boolean colorTextForCollected;
+	private final int firstOutfitSpacer;
+	private final int totalNeededTextSpacer;
+	private final int iconTextSpacer;
+	private final int iconSize;
+	private final int iconGapSpacing;
+	private final int maxCols;
+	private final boolean showObtainedItems;
+	private final boolean overrideOutfitColors;
+	private final Color outfitNameColor;
+	private final boolean showTotalObtain;
+	private final boolean showItemTotalObtain;
+	private final boolean dimUnownedItems;
+
+	// Indexed by catalog outfit index
+	@Getter(lombok.AccessLevel.NONE)
+	private final boolean[] displayedOutfits;
+
+	private SkillingOutfitRenderSettings(SkillingOutfitConfig config, ConfigManager configManager)
+	{
+		panelTitleSpacer = config.panelTitleSpacer();
+		displayCollectedOutfits = config.displayCollectedOutfits();
+		outfitTextSpacer = config.outfitTextSpacer();
+		displayCollectedItems = config.displayCollectedItems();
+		itemTextSpacer = config.itemTextSpacer();
+		colorTextForCollected = config.colorTextForCollected();
+		firstOutfitSpacer = config.firstOutfitSpacer();
+		totalNeededTextSpacer = config.totalNeededTextSpacer();
+		iconTextSpacer = config.iconTextSpacer();
+		iconSize = config.iconSize();
+		iconGapSpacing = config.iconGapSpacing();
+		maxCols = config.maxCols();
+		showObtainedItems = config.showObtainedItems();
+		overrideOutfitColors = config.overrideOutfitColors();
+		outfitNameColor = config.outfitNameColor();
+		showTotalObtain = config.showTotalObtain();
+		showItemTotalObtain = config.showItemTotalObtain();
+		dimUnownedItems = config.dimUnownedItems();
+
+		displayedOutfits = new boolean[SkillingOutfitCatalog.outfitCount()];
+		for (int outfit = 0; outfit < displayedOutfits.length; outfit++)
+		{
+			Object result = configManager.getConfiguration("skillingoutfit", SkillingOutfitCatalog.outfitConfigKey(outfit));
+			displayedOutfits[outfit] = result != null && Boolean.parseBoolean(result.toString());
+		}
+	}
+
+	// Keys read above. The group also holds the plugin's own saved state (obtained items, bank cache,
+	// counters), and writes to those must not throw away the retained layout
+	private static final Set<String> KEYS = renderKeys();
+
+	private static Set<String> renderKeys()
+	{
+		Set<String> keys = new HashSet<>(Set.of(
+			"panelTitleSpacer", "displayCollectedOutfits", "outfitTextSpacer", "displayCollectedItems", "itemTextSpacer",
+			"colorTextForCollected", "firstOutfitSpacer", "totalNeededTextSpacer", "iconTextSpacer", "iconSize",
+			"iconGapSpacing", "maxCols", "showObtainedItems", "overrideOutfitColors", "outfitNameColor",
+			"showTotalObtain", "showItemTotalObtain", "dimUnownedItems"));
+		for (int outfit = 0; outfit < SkillingOutfitCatalog.outfitCount(); outfit++)
+			keys.add(SkillingOutfitCatalog.outfitConfigKey(outfit));
+		return keys;
+	}
+
+	static boolean isRenderKey(String key)
+	{
+		return KEYS.contains(key);
+	}
+
+	static SkillingOutfitRenderSettings from(SkillingOutfitConfig config, ConfigManager configManager)
+	{
+		return new SkillingOutfitRenderSettings(config, configManager);
+	}
+
+	boolean isOutfitDisplayed(int outfit)
+	{
+		return displayedOutfits[outfit];
+	}
+}
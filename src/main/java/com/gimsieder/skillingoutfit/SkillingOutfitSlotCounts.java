@@ -0,0 +1,76 @@
+package com.gimsieder.skillingoutfit;
+
+import java.util.Arrays;
+
+/**
+ * Quantities of every tracked item per source, packed into one int array indexed by
+ * source * slotCount + slot (see {@link SkillingOutfitCatalog#slotOf(int)}), with a
+ * running total per slot. A container refresh fills a scratch stripe, then
+ * {@link #commit(int, int[])} diffs it against the stored stripe in a single pass.
+ */
+final class SkillingOutfitSlotCounts
+{
+	static final int INVENTORY = 0;
+	static final int EQUIPMENT = 1;
+	static final int BANK = 2;
+	static final int SOURCES = 3;
+
+	private final int slots = SkillingOutfitCatalog.slotCount();
+	private final int[] counts = new int[SOURCES * slots];
+	private final int[] totals = new int[slots];
+	private final int[] scratch = new int[slots];
+
+	// Zeroed stripe for the caller to add container quantities into before commit
+	int[] beginFill()
+	{
+		Arrays.fill(scratch, 0);
+		return scratch;
+	}
+
+	// Replaces the source stripe with the filled scratch, writes the changed slots into changed and returns how many
+	int commit(int source, int[] changed)
+	{
+		int base = source * slots;
+		int n = 0;
+		for (int slot = 0; slot < slots; slot++)
+		{
+			int before = counts[base + slot];
+			int after = scratch[slot];
+			if (before == after) continue;
+			counts[base + slot] = after;
+			totals[slot] += after - before;
+			changed[n++] = slot;
+		}
+		return n;
+	}
+
+	int get(int source, int slot)
+	{
+		return counts[source * slots + slot];
+	}
+
+	int total(int slot)
+	{
+		return totals[slot];
+	}
+
+	int totalOfItem(int itemId)
+	{
+		int slot = SkillingOutfitCatalog.slotOf(itemId);
+		return slot < 0 ? 0 : totals[slot];
+	}
+
+	boolean isEmpty(int source)
+	{
+		int base = source * slots;
+		for (int slot = 0; slot < slots; slot++)
+			if (counts[base + slot] != 0)
+				return false;
+		return true;
+	}
+
+	int[] copyTotals()
+	{
+		return totals.clone();
+	}
+}
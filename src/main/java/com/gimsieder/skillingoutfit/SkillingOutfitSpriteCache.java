@@ -0,0 +1,91 @@
+package com.gimsieder.skillingoutfit;
+
+import net.runelite.client.util.AsyncBufferedImage;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Item sprites pre-scaled to the panel's icon size at the current display scale, plus
+ * dimmed copies for unowned items. Entries are only rebuilt when the device pixel size
+ * changes or a source image finishes loading, so painting never resamples. EDT only.
+ */
+final class SkillingOutfitSpriteCache
+{
+	private static final AlphaComposite DIMMED = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.35f);
+
+	private final Map<Integer, BufferedImage> sources = new HashMap<>();
+	private final Map<Integer, BufferedImage> scaled = new HashMap<>();
+	private final Map<Integer, BufferedImage> dimmed = new HashMap<>();
+
+	// Device pixel size the scaled entries were built for
+	private int devicePixels = -1;
+
+	// onLoaded runs on the EDT after the loaded item's entries have been dropped
+	void load(int itemId, AsyncBufferedImage source, Runnable onLoaded)
+	{
+		sources.put(itemId, source);
+		source.onLoaded(() -> SwingUtilities.invokeLater(() -> {
+			scaled.remove(itemId);
+			dimmed.remove(itemId);
+			onLoaded.run();
+		}));
+	}
+
+	boolean contains(int itemId)
+	{
+		return sources.containsKey(itemId);
+	}
+
+	// Sprite sized size x size in user space at the given display scale, or null if unknown
+	BufferedImage get(int itemId, int size, double scale, boolean dim)
+	{
+		BufferedImage source = sources.get(itemId);
+		if (source == null) return null;
+
+		int pixels = Math.max(1, (int) Math.ceil(size * scale));
+		if (pixels != devicePixels)
+		{
+			scaled.clear();
+			dimmed.clear();
+			devicePixels = pixels;
+		}
+
+		BufferedImage sprite = scaled.get(itemId);
+		if (sprite == null)
+		{
+			sprite = render(source, pixels, null);
+			scaled.put(itemId, sprite);
+		}
+		if (!dim)
+			return sprite;
+
+		BufferedImage faded = dimmed.get(itemId);
+		if (faded == null)
+		{
+			faded = render(sprite, pixels, DIMMED);
+			dimmed.put(itemId, faded);
+		}
+		return faded;
+	}
+
+	private static BufferedImage render(BufferedImage source, int pixels, Composite composite)
+	{
+		BufferedImage image = new BufferedImage(pixels, pixels, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		try
+		{
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+			if (composite != null) g.setComposite(composite);
+			g.drawImage(source, 0, 0, pixels, pixels, null);
+		}
+		finally
+		{
+			g.dispose();
+		}
+		return image;
+	}
+}
@@ -17,25 +17,20 @@ import javax.inject.Inject;
 import javax.swing.*;
 import java.awt.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Getter
 @Setter
 public class SkillingOutfitTracker
 {
-	private int carpenterPoints = 0;
-	private int carpenterContracts = 0;
-	private int farmingPoints = 0;
-	private int temporossPoints = 0;
-	private int hunterRumors = 0;
-	private int wintertodtCrates = 0;
-	private int animaBark;
-	private int roguesDenAttempts = 0;
-
-	private final Map<Integer, Boolean> ownedCache = new HashMap<>();
-	private final Set<Integer> obtainedItems = new HashSet<>();
-	private final Map<Integer, Integer> inventoryCostCache = new HashMap<>();
-	private final Map<Integer, Integer> equipmentCostCache = new HashMap<>();
-	private final Map<Integer, Integer> bankCostCache = new HashMap<>();
+	// Hot path timings, recorded only while the Diagnostics option is on
+	private final SkillingOutfitMetrics metrics = new SkillingOutfitMetrics();
+
+	// Authoritative balance of every currency and minigame counter
+	private final SkillingOutfitCurrencyLedger ledger = new SkillingOutfitCurrencyLedger();
+
+	// Indexed by catalog slot so ownership checks are a single bit read with no boxing
+	private final BitSet obtainedItems = new BitSet();
 
 	private final Client client;
 	private final ClientThread clientThread;
@@ -43,10 +38,17 @@ public class SkillingOutfitTracker
 	private final String configGroup = "skillingoutfit";
 	private final SkillingOutfitConfig config;
 	private final ItemManager itemManager;
+	private final SkillingOutfitBankStore bankStore;
 
-	private Map<Integer, Integer> inventoryCacheSnapshot = new HashMap<>();
-	private Map<Integer, Integer> equipmentCacheSnapshot = new HashMap<>();
-	private Map<Integer, Integer> bankCacheSnapshot = new HashMap<>();
+	// Inventory, equipment and bank quantities of every tracked item in one packed array
+	private final SkillingOutfitSlotCounts counts = new SkillingOutfitSlotCounts();
+	private final int[] changedSlots = new int[SkillingOutfitCatalog.slotCount()];
+	private static final Item[] NO_ITEMS = new Item[0];
+	private final SkillingOutfitOwnership ownership = new SkillingOutfitOwnership(this::isIdOwned);
+
+	// Latest immutable view for the panel, replaced whole on the client thread
+	private final AtomicReference<SkillingOutfitTrackerState> state = new AtomicReference<>(SkillingOutfitTrackerState.EMPTY);
+	private long stateVersion = 0;
 
 	@Setter
 	private SkillingOutfitPanel panel;
@@ -59,9 +61,28 @@ public class SkillingOutfitTracker
 		this.configManager = configManager;
 		this.config = config;
 		this.itemManager = itemManager;
+		this.bankStore = new SkillingOutfitBankStore(configManager, configGroup, metrics);
 
 		loadObtainedItems();
 		loadBankCache();
+		for (SkillingOutfitCurrency currency : SkillingOutfitCurrency.values())
+			if (currency.isContainerBacked())
+				ledger.set(currency, counts.totalOfItem(currency.getItemId()), SkillingOutfitCurrencyLedger.SOURCE_LOAD);
+		ownership.recomputeAll();
+		publishState();
+	}
+
+	// ======== STATE PUBLISHING ========
+	public SkillingOutfitTrackerState publishState()
+	{
+		SkillingOutfitTrackerState next = new SkillingOutfitTrackerState(++stateVersion, this);
+		state.set(next);
+		return next;
+	}
+
+	public SkillingOutfitTrackerState getState()
+	{
+		return state.get();
 	}
 
 	// ======== UPDATE ALL CACHES ========
@@ -69,45 +90,19 @@ public class SkillingOutfitTracker
 		updateInventoryCache();
 		updateEquipmentCache();
 		updateBankCache();
+		ownership.recomputeAll();
+		publishState();
 	}
 
 	public void updateInventoryCache()
 	{
-		// Clear previous cache
-		inventoryCostCache.clear();
-
-		// Ensure this runs on the client thread
-		clientThread.invoke(() ->
-		{
-			ItemContainer inv = client.getItemContainer(InventoryID.INVENTORY);
-			if (inv != null)
-			{
-				for (Item item : inv.getItems())
-				{
-					int id = item.getId();
-					int qty = item.getQuantity();
-					inventoryCostCache.put(id, qty);
-				}
-			}
-			// Update snapshot for safe panel/thread reading
-			inventoryCacheSnapshot = new HashMap<>(inventoryCostCache);
-		});
+		// Ensure this runs on the client thread; a missing inventory counts as empty
+		clientThread.invoke(() -> replaceSource(SkillingOutfitSlotCounts.INVENTORY, client.getItemContainer(InventoryID.INVENTORY)));
 	}
 
 	public void updateEquipmentCache()
 	{
-		equipmentCostCache.clear();
-
-		ItemContainer equipment = client.getItemContainer(InventoryID.EQUIPMENT);
-		if (equipment != null)
-		{
-			for (Item item : equipment.getItems())
-			{
-				equipmentCostCache.put(item.getId(), item.getQuantity());
-			}
-		}
-
-		equipmentCacheSnapshot = new HashMap<>(equipmentCostCache);
+		replaceSource(SkillingOutfitSlotCounts.EQUIPMENT, client.getItemContainer(InventoryID.EQUIPMENT));
 	}
 
 	public void updateBankCache()
@@ -115,100 +110,170 @@ public class SkillingOutfitTracker
 		ItemContainer bank = client.getItemContainer(InventoryID.BANK);
 		if (bank != null)
 		{
-			Map<Integer, Integer> newBankSnapshot = new HashMap<>();
-			for (Item item : bank.getItems())
-				newBankSnapshot.put(item.getId(), item.getQuantity());
+			replaceSource(SkillingOutfitSlotCounts.BANK, bank);
 
-			bankCacheSnapshot = newBankSnapshot;
-
-			// Save to config immediately
-			saveBankCache();
+			// Persisted on the next due flush rather than on every change
+			markBankDirty();
 		}
 	}
 
+	public void markBankDirty()
+	{
+		bankStore.markDirty();
+		flushBankCacheIfDue();
+	}
+
+	// Writes the bank at most once per configured interval while it keeps changing
+	public void flushBankCacheIfDue()
+	{
+		long intervalMillis = Math.max(0, config.bankSaveInterval()) * 1000L;
+		bankStore.flushIfDue(counts, intervalMillis, System.currentTimeMillis());
+	}
+
+	// Forces any pending bank changes out, used on bank close, logout and shutdown
 	public void saveBankCache()
 	{
-		if (bankCacheSnapshot.isEmpty())
-			return;
+		bankStore.flush(counts, System.currentTimeMillis());
+	}
 
-		StringBuilder sb = new StringBuilder();
-		for (Map.Entry<Integer, Integer> entry : bankCacheSnapshot.entrySet())
+	public void loadBankCache()
+	{
+		bankStore.load(counts);
+	}
+
+	// ======== INCREMENTAL CONTAINER UPDATES ========
+	public boolean applyContainerChange(int containerId, ItemContainer container)
+	{
+		int source = sourceOf(containerId);
+		if (source < 0 || container == null)
+			return false;
+
+		if (!replaceSource(source, container))
+			return false;
+
+		if (source == SkillingOutfitSlotCounts.BANK)
+			markBankDirty();
+		return true;
+	}
+
+	private static int sourceOf(int containerId)
+	{
+		if (containerId == InventoryID.INVENTORY.getId()) return SkillingOutfitSlotCounts.INVENTORY;
+		if (containerId == InventoryID.EQUIPMENT.getId()) return SkillingOutfitSlotCounts.EQUIPMENT;
+		if (containerId == InventoryID.BANK.getId()) return SkillingOutfitSlotCounts.BANK;
+		return -1;
+	}
+
+	// Refills one source stripe from the container (null = empty) and applies ownership for changed slots only
+	private boolean replaceSource(int source, ItemContainer container)
+	{
+		SkillingOutfitFlightEvents.ContainerRefresh event = new SkillingOutfitFlightEvents.ContainerRefresh();
+		event.begin();
+
+		Item[] items = container == null ? NO_ITEMS : container.getItems();
+		int[] fill = counts.beginFill();
+		for (Item item : items)
 		{
-			sb.append(entry.getKey()).append(":").append(entry.getValue()).append(",");
+			// Only outfit pieces, variants and currencies are mirrored; unrelated bank items are dropped here
+			int slot = SkillingOutfitCatalog.slotOf(item.getId());
+			if (slot < 0) continue;
+			fill[slot] += item.getQuantity();
 		}
-		if (sb.length() > 0)
-			sb.setLength(sb.length() - 1); // remove trailing comma
 
-		configManager.setConfiguration(configGroup, "bankCache", sb.toString());
+		int changed = counts.commit(source, changedSlots);
+		if (changed > 0)
+			applyOwnershipDeltas(changed);
+
+		event.end();
+		if (event.shouldCommit())
+		{
+			event.containerId = container == null ? -1 : container.getId();
+			event.itemCount = items.length;
+			event.deltaSize = changed;
+			event.commit();
+		}
+		return changed > 0;
 	}
 
-	public void loadBankCache()
+	private void applyOwnershipDeltas(int changed)
 	{
-		String saved = configManager.getConfiguration(configGroup, "bankCache");
-		if (saved == null || saved.isEmpty())
-			return;
-
-		Map<Integer, Integer> loaded = new HashMap<>();
-		for (String pair : saved.split(","))
+		boolean obtainedChanged = false;
+		for (int i = 0; i < changed; i++)
 		{
-			String[] parts = pair.split(":");
-			if (parts.length != 2)
-				continue;
-			try
+			int slot = changedSlots[i];
+			boolean owned = counts.total(slot) > 0;
+			if (owned != obtainedItems.get(slot))
 			{
-				int itemId = Integer.parseInt(parts[0]);
-				int qty = Integer.parseInt(parts[1]);
-				loaded.put(itemId, qty);
+				obtainedItems.set(slot, owned);
+				obtainedChanged = true;
 			}
-			catch (NumberFormatException ignored) {}
+			int itemId = SkillingOutfitCatalog.slotItemId(slot);
+			ownership.update(itemId);
+
+			// Currency items feed the ledger as the change in their combined quantity
+			SkillingOutfitCurrency currency = SkillingOutfitCurrency.ofItem(itemId);
+			if (currency != null && currency.isContainerBacked())
+				ledger.set(currency, counts.total(slot), SkillingOutfitCurrencyLedger.SOURCE_CONTAINER);
 		}
 
-		bankCacheSnapshot = loaded;
+		if (obtainedChanged)
+			saveObtainedItems();
+	}
+
+	// ======== CURRENCIES ========
+	public int getBalance(SkillingOutfitCurrency currency)
+	{
+		return ledger.balance(currency);
+	}
+
+	// Absolute reading (chat total, varbit, config); returns true if the balance moved
+	public boolean setBalance(SkillingOutfitCurrency currency, int balance, int source)
+	{
+		return ledger.set(currency, balance, source);
+	}
+
+	public boolean addToBalance(SkillingOutfitCurrency currency, int delta, int source)
+	{
+		return ledger.apply(currency, delta, source);
 	}
 
 	// ======== TOTAL COST ITEMS COMBINED ========
 	public int getTotalCostItem(int costId)
 	{
-		int inv = inventoryCacheSnapshot.getOrDefault(costId, 0);
-		int equip = equipmentCacheSnapshot.getOrDefault(costId, 0);
-		int bank = bankCacheSnapshot.getOrDefault(costId, 0);
-
-		return inv + equip + bank;
+		return counts.totalOfItem(costId);
 	}
 
 
 	// ======== OWNED ITEM CHECKS ========
-	private boolean isItemOwnedCached(int itemId)
+	private boolean isIdOwned(int itemId)
 	{
-		int invCount = getInventoryCacheSnapshot().getOrDefault(itemId, 0);
-		int equipCount = getEquipmentCacheSnapshot().getOrDefault(itemId, 0);
-		int bankCount = getBankCacheSnapshot().getOrDefault(itemId, 0);
-
-		return (invCount + equipCount + bankCount) > 0;
+		int slot = SkillingOutfitCatalog.slotOf(itemId);
+		return slot >= 0 && (obtainedItems.get(slot) || counts.total(slot) > 0);
 	}
 
 	public void updateOwnedItems()
 	{
-		for (SkillingOutfitData.SkillingOutfitDataEntry outfitEntry : SkillingOutfitData.OUTFITS_DATA.values())
-		{
-			for (SkillingOutfitItem item : outfitEntry.items.values())
-			{
-				boolean owned = getTotalCostItem(item.getItemId()) > 0; // use combined total
-				ownedCache.put(item.getItemId(), owned);
-			}
-		}
+		ownership.recomputeAll();
+		publishState();
 	}
 
 	// ======== OBTAINED ITEMS ========
+	// Persisted by item ID so the saved list survives catalog changes
 	public void saveObtainedItems()
 	{
 		StringBuilder sb = new StringBuilder();
-		for (int id : obtainedItems)
-			sb.append(id).append(",");
+		for (int slot = obtainedItems.nextSetBit(0); slot >= 0; slot = obtainedItems.nextSetBit(slot + 1))
+			sb.append(SkillingOutfitCatalog.slotItemId(slot)).append(",");
 		if (sb.length() > 0)
 			sb.setLength(sb.length() - 1);
 
-		configManager.setConfiguration(configGroup, "obtainedItems", sb.toString());
+		String value = sb.toString();
+		SkillingOutfitFlightEvents.ConfigWrite event = new SkillingOutfitFlightEvents.ConfigWrite();
+		event.begin();
+		long start = metrics.begin(SkillingOutfitMetrics.CONFIG_WRITE);
+		configManager.setConfiguration(configGroup, "obtainedItems", value);
+		metrics.end(SkillingOutfitMetrics.CONFIG_WRITE, start);
+		SkillingOutfitFlightEvents.commitConfigWrite(event, "obtainedItems", value);
 	}
 
 	public void loadObtainedItems()
@@ -220,8 +285,9 @@ public class SkillingOutfitTracker
 			{
 				try
 				{
-					int itemId = Integer.parseInt(s);
-					obtainedItems.add(itemId);
+					int slot = SkillingOutfitCatalog.slotOf(Integer.parseInt(s));
+					if (slot >= 0)
+						obtainedItems.set(slot);
 				}
 				catch (NumberFormatException ignored) {}
 			}
@@ -230,78 +296,16 @@ public class SkillingOutfitTracker
 
 	public void updateOwnedItemsFromCaches()
 	{
-		ownedCache.clear();
-
-		// Combine tracked item sources
-		Set<Integer> allTrackedItems = new HashSet<>();
-		allTrackedItems.addAll(inventoryCacheSnapshot.keySet());
-		allTrackedItems.addAll(bankCacheSnapshot.keySet());
-
-		// Include equipped items
-		ItemContainer equipmentContainer = client.getItemContainer(InventoryID.EQUIPMENT);
-		if (equipmentContainer != null)
-		{
-			for (Item item : equipmentContainer.getItems())
-			{
-				if (item != null && item.getId() > 0)
-				{
-					allTrackedItems.add(item.getId());
-				}
-			}
-		}
-
-		// Track owned items
-		for (int itemId : allTrackedItems)
-		{
-			boolean isInInventory = inventoryCacheSnapshot.getOrDefault(itemId, 0) > 0;
-			boolean isInBank = bankCacheSnapshot.getOrDefault(itemId, 0) > 0;
-			boolean isInEquipment = (equipmentContainer != null &&
-					Arrays.stream(equipmentContainer.getItems())
-							.anyMatch(i -> i != null && i.getId() == itemId));
-
-			boolean isOwned = isInInventory || isInBank || isInEquipment;
-			boolean wasOwnedBefore = ownedCache.getOrDefault(itemId, false);
-
-			ownedCache.put(itemId, isOwned);
-
-			// Only trigger notification if it's truly new — not being moved or loaded from equipment
-			if (isOwned && !obtainedItems.contains(itemId))
-			{
-				obtainedItems.add(itemId);
-
-				if (!wasOwnedBefore)
-				{
-					// Skip notification if the item is ONLY in equipment (login equip load)
-					if (isInEquipment && !isInInventory && !isInBank)
-					{
-						continue; // Skip this one entirely
-					}
-
-					// Find outfit + item name
-					String outfitName = null;
-					String itemName = null;
-
-					for (Map.Entry<String, SkillingOutfitData.SkillingOutfitDataEntry> entry : SkillingOutfitData.OUTFITS_DATA.entrySet())
-					{
-						SkillingOutfitData.SkillingOutfitDataEntry outfitEntry = entry.getValue();
-						Map<Integer, SkillingOutfitItem> items = outfitEntry.items;
-
-						if (items.containsKey(itemId))
-						{
-							outfitName = entry.getKey();
-							itemName = items.get(itemId).getName();
-							break;
-						}
-					}
-				}
-			}
-		}
+		// Equipment is read live; inventory and bank come from the last container events
+		updateEquipmentCache();
 
-		// Remove items that are no longer owned (dropped, sold, etc.)
-		obtainedItems.removeIf(id -> !ownedCache.getOrDefault(id, false));
+		// Obtained mirrors what is currently held anywhere, one pass over the dense slots
+		for (int slot = 0; slot < SkillingOutfitCatalog.slotCount(); slot++)
+			obtainedItems.set(slot, counts.total(slot) > 0);
 
 		saveObtainedItems();
-		refreshCostItemCache();
+		ownership.recomputeAll();
+		publishState();
 
 		if (panel != null)
 		{
@@ -309,59 +313,13 @@ public class SkillingOutfitTracker
 		}
 	}
 
-
 	public void markObtainedFromConfig()
 	{
-		// Load items saved in config
+		// Load items saved in config; ownership reads the obtained bits directly
 		loadObtainedItems();
-
-		// Add all previously obtained items to ownedCache so UI knows you own them
-		for (int itemId : obtainedItems)
-		{
-			ownedCache.put(itemId, true);
-		}
-	}
-
-
-	// ======== COST ITEM CACHE ========
-	private final Map<Integer, Integer> costItemCache = new HashMap<>();
-
-	private int loadCostItem(int costItemId)
-	{
-		Integer stored = configManager.getRSProfileConfiguration(configGroup, "costItem_" + costItemId, Integer.class);
-		return (stored != null) ? stored : 0;
-	}
-
-	public void loadAllCostItems()
-	{
-		for (SkillingOutfitData.SkillingOutfitDataEntry outfitEntry : SkillingOutfitData.OUTFITS_DATA.values())
-		{
-			for (SkillingOutfitItem item : outfitEntry.items.values())
-			{
-				int costId = item.getCostItemId();
-				costItemCache.put(costId, loadCostItem(costId));
-			}
-		}
-	}
-
-	public void refreshCostItemCache()
-	{
-		costItemCache.clear();
-
-		for (SkillingOutfitData.SkillingOutfitDataEntry outfitEntry : SkillingOutfitData.OUTFITS_DATA.values())
-		{
-			for (SkillingOutfitItem item : outfitEntry.items.values())
-			{
-				int costId = item.getCostItemId();
-				int total = getTotalCostItem(costId); // inventory+equipment+bank
-				costItemCache.put(costId, total);
-			}
-		}
 	}
 
 	public static final int FOUNDRY_REPUTATION = 3436;
-	public int foundryReputation = 0;
 	public static final int FARMING_POINTS = 4893;
-	public int titheFarmPoints = 0;
 
 }
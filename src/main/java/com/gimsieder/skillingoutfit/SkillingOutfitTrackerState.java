@@ -0,0 +1,94 @@
+package com.gimsieder.skillingoutfit;
+
+/**
+ * Immutable, versioned view of everything the panel renders. Built on the client
+ * thread by {@link SkillingOutfitTracker#publishState()} and handed to the EDT through
+ * a single atomic reference, so painting never copies, clears or races tracker maps.
+ */
+public final class SkillingOutfitTrackerState
+{
+	static final SkillingOutfitTrackerState EMPTY = new SkillingOutfitTrackerState();
+
+	private final long version;
+
+	// Ownership, one bitset per outfit (bit = piece index)
+	private final long[] outfitBits;
+	private final long[] completeMasks;
+	private final int ownedItems;
+	private final int ownedOutfits;
+
+	// Combined inventory + equipment + bank quantity, indexed by catalog slot
+	private final int[] totals;
+
+	// Ledger balances, indexed by currency ordinal
+	private final int[] balances;
+
+	private SkillingOutfitTrackerState()
+	{
+		version = 0;
+		outfitBits = new long[SkillingOutfitCatalog.outfitCount()];
+		completeMasks = new long[SkillingOutfitCatalog.outfitCount()];
+		ownedItems = 0;
+		ownedOutfits = 0;
+		totals = new int[SkillingOutfitCatalog.slotCount()];
+		balances = new int[SkillingOutfitCurrency.count()];
+	}
+
+	SkillingOutfitTrackerState(long version, SkillingOutfitTracker tracker)
+	{
+		SkillingOutfitOwnership ownership = tracker.getOwnership();
+		this.version = version;
+		this.outfitBits = ownership.copyBits();
+		this.completeMasks = ownership.getCompleteMasks();
+		this.ownedItems = ownership.getOwnedItems();
+		this.ownedOutfits = ownership.getOwnedOutfits();
+
+		this.totals = tracker.getCounts().copyTotals();
+
+		this.balances = tracker.getLedger().copyBalances();
+	}
+
+	public long getVersion() { return version; }
+
+	// ======== OWNERSHIP ========
+	// itemIndex is the catalog item index
+	public boolean isPieceOwned(int itemIndex)
+	{
+		long bit = 1L << SkillingOutfitCatalog.pieceOfItem(itemIndex);
+		return (outfitBits[SkillingOutfitCatalog.outfitOfItem(itemIndex)] & bit) != 0;
+	}
+
+	long getOutfitBits(int outfit)
+	{
+		return outfitBits[outfit];
+	}
+
+	public boolean isOutfitComplete(int outfit)
+	{
+		return outfitBits[outfit] == completeMasks[outfit];
+	}
+
+	public int getOwnedItems() { return ownedItems; }
+	public int getOwnedOutfits() { return ownedOutfits; }
+	public int getTotalItems() { return SkillingOutfitCatalog.itemCount(); }
+	public int getTotalOutfits() { return SkillingOutfitCatalog.outfitCount(); }
+
+	// ======== QUANTITIES AND COUNTERS ========
+	public int getTotalCostItem(int itemId)
+	{
+		int slot = SkillingOutfitCatalog.slotOf(itemId);
+		return slot < 0 ? 0 : totals[slot];
+	}
+
+	public int getBalance(SkillingOutfitCurrency currency)
+	{
+		return balances[currency.ordinal()];
+	}
+
+	// Ledger balance for currency items, combined container quantity for anything else
+	public int getAmountHeld(int itemId)
+	{
+		SkillingOutfitCurrency currency = SkillingOutfitCurrency.ofItem(itemId);
+		return currency != null ? balances[currency.ordinal()] : getTotalCostItem(itemId);
+	}
+}
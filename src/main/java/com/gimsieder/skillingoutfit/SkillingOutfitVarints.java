@@ -0,0 +1,41 @@
+package com.gimsieder.skillingoutfit;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Unsigned LEB128 varints, seven bits per byte with the high bit marking a
+ * continuation. Shared by the bank cache payload and the event recordings.
+ */
+final class SkillingOutfitVarints
+{
+	private SkillingOutfitVarints()
+	{
+	}
+
+	static void write(DataOutput out, int value) throws IOException
+	{
+		while ((value & ~0x7F) != 0)
+		{
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	static int read(DataInput in) throws IOException
+	{
+		int value = 0;
+		int shift = 0;
+		byte b;
+		do
+		{
+			b = in.readByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		}
+		while ((b & 0x80) != 0);
+		return value;
+	}
+}
@@ -53,6 +53,7 @@ public class SkillingOutfitWindow extends JFrame
 		addCheckbox(main, "Show Price To Obtain (Outfit)", "showTotalObtain", config.showTotalObtain());
 		addCheckbox(main, "Show Price To Obtain (Items)", "showItemTotalObtain", config.showItemTotalObtain());
 		addCheckbox(main, "Show Obtained Items", "showObtainedItems", config.showObtainedItems());
+		addCheckbox(main, "Dim Unowned Items", "dimUnownedItems", config.dimUnownedItems());
 
 		addCheckbox(main, "Enable Popout Config Mode", "enablePopoutConfigMode", config.enablePopoutConfigMode());
 
@@ -247,7 +248,7 @@ public class SkillingOutfitWindow extends JFrame
 	{
 		configManager.setConfiguration("skillingoutfit", key, value);
 
-		if (panel != null)
+		if (panel != null && SkillingOutfitRenderSettings.isRenderKey(key))
 			panel.refresh();
 
 		ConfigChanged evt = new ConfigChanged();
@@ -0,0 +1,83 @@
+package com.gimsieder.skillingoutfit;
+
+import net.runelite.client.config.ConfigManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class SkillingOutfitBankStoreTest
+{
+	private final Map<String, String> saved = new HashMap<>();
+	private ConfigManager configManager;
+
+	@Before
+	public void setUp()
+	{
+		// Backed by a map so a second store sees what the first one wrote
+		configManager = mock(ConfigManager.class, invocation ->
+		{
+			switch (invocation.getMethod().getName())
+			{
+				case "setConfiguration":
+					saved.put(invocation.getArgument(1), String.valueOf((Object) invocation.getArgument(2)));
+					return null;
+				case "getConfiguration":
+					return saved.get(invocation.<String>getArgument(1));
+				default:
+					return null;
+			}
+		});
+	}
+
+	@Test
+	public void emptiedBankIsPersisted()
+	{
+		SkillingOutfitBankStore store = new SkillingOutfitBankStore(configManager, "skillingoutfit", new SkillingOutfitMetrics());
+		SkillingOutfitSlotCounts counts = new SkillingOutfitSlotCounts();
+		int[] changed = new int[SkillingOutfitCatalog.slotCount()];
+
+		// Every tracked item in the bank
+		int[] fill = counts.beginFill();
+		for (int slot = 0; slot < fill.length; slot++)
+			fill[slot] = 1;
+		counts.commit(SkillingOutfitSlotCounts.BANK, changed);
+		store.markDirty();
+		assertTrue(store.flush(counts, 0));
+
+		// All of it withdrawn and dropped
+		counts.beginFill();
+		counts.commit(SkillingOutfitSlotCounts.BANK, changed);
+		store.markDirty();
+		assertTrue(store.flush(counts, 1));
+
+		SkillingOutfitSlotCounts loaded = new SkillingOutfitSlotCounts();
+		new SkillingOutfitBankStore(configManager, "skillingoutfit", new SkillingOutfitMetrics()).load(loaded);
+		assertTrue(loaded.isEmpty(SkillingOutfitSlotCounts.BANK));
+	}
+
+	@Test
+	public void bankRoundTrips()
+	{
+		SkillingOutfitBankStore store = new SkillingOutfitBankStore(configManager, "skillingoutfit", new SkillingOutfitMetrics());
+		SkillingOutfitSlotCounts counts = new SkillingOutfitSlotCounts();
+		int[] fill = counts.beginFill();
+		fill[0] = 3;
+		fill[fill.length - 1] = 70_000;
+		counts.commit(SkillingOutfitSlotCounts.BANK, new int[SkillingOutfitCatalog.slotCount()]);
+		store.markDirty();
+		assertTrue(store.flush(counts, 0));
+
+		SkillingOutfitSlotCounts loaded = new SkillingOutfitSlotCounts();
+		new SkillingOutfitBankStore(configManager, "skillingoutfit", new SkillingOutfitMetrics()).load(loaded);
+		assertFalse(loaded.isEmpty(SkillingOutfitSlotCounts.BANK));
+		assertEquals(3, loaded.get(SkillingOutfitSlotCounts.BANK, 0));
+		assertEquals(70_000, loaded.get(SkillingOutfitSlotCounts.BANK, SkillingOutfitCatalog.slotCount() - 1));
+	}
+}
@@ -0,0 +1,95 @@
+package com.gimsieder.skillingoutfit;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SkillingOutfitChatDispatcherTest
+{
+	private final List<String> handled = new ArrayList<>();
+
+	// Same keywords and patterns as the plugin's rule table; each handler logs its name and values
+	private final SkillingOutfitChatDispatcher dispatcher = SkillingOutfitChatDispatcher.builder()
+		.rule("contracts with a total of",
+			"You have completed <col=[0-9a-f]+>(\\d+)</col> contracts with a total of <col=[0-9a-f]+>(\\d+)</col> points\\.",
+			v -> record("mahogany", v))
+		.rule("reward points.",
+			"You now have <col=[0-9a-f]+>(\\d+)</col> reward points\\.",
+			v -> record("tithe", v))
+		.rule("Tempoross kill count",
+			"Your Tempoross kill count is: <col=[0-9a-f]+>(\\d+)</col>\\.",
+			v -> record("tempoross", v))
+		.rule("rumours for the Hunter Guild",
+			"You have completed <col=[0-9a-fA-F]+>(\\d+)</col> rumours for the Hunter Guild\\.",
+			v -> record("rumours", v))
+		.rule("subdued Wintertodt count",
+			"Your subdued Wintertodt count is: <col=[0-9a-f]+>(\\d+)</col>\\.",
+			v -> record("wintertodt", v))
+		.rule("Anima-infused bark",
+			"You've been awarded\\s*(?:<col=[0-9A-Fa-f]+>)?([\\d,]+)\\s*Anima-infused bark(?:</col>)?\\.?",
+			v -> record("bark", v))
+		.rule("You start cracking the safe",
+			"You start cracking the safe\\.",
+			v -> record("safe", v))
+		.build();
+
+	private void record(String rule, int[] values)
+	{
+		handled.add(rule + Arrays.toString(values));
+	}
+
+	@Test
+	public void everyGameMessageReachesItsRule()
+	{
+		String[] messages = {
+			"You have completed <col=ef1020>12</col> contracts with a total of <col=ef1020>340</col> points.",
+			"You now have <col=ef1020>75</col> reward points.",
+			"Your Tempoross kill count is: <col=ff0000>31</col>.",
+			"You have completed <col=EF1020>8</col> rumours for the Hunter Guild.",
+			"Your subdued Wintertodt count is: <col=ff0000>512</col>.",
+			"You've been awarded <col=ef1020>1,250 Anima-infused bark</col>.",
+			"You start cracking the safe.",
+		};
+		for (String message : messages)
+			assertTrue(message, dispatcher.dispatch(message));
+
+		assertEquals(Arrays.asList(
+			"mahogany[12, 340]", "tithe[75]", "tempoross[31]", "rumours[8]", "wintertodt[512]", "bark[1250]", "safe[]"), handled);
+	}
+
+	@Test
+	public void unrelatedMessagesAreRejected()
+	{
+		assertFalse(dispatcher.dispatch("You catch a raw shark."));
+		// Keyword present but the surrounding format is not a game message
+		assertFalse(dispatcher.dispatch("Anima-infused bark is worth a lot"));
+		assertTrue(handled.isEmpty());
+	}
+
+	@Test
+	public void regexMissKeepsScanningForLaterKeywords()
+	{
+		// "reward points." comes first but its pattern does not match; the Tempoross rule later in the line must still run
+		assertTrue(dispatcher.dispatch("No reward points. Your Tempoross kill count is: <col=ff0000>7</col>."));
+		assertEquals(Arrays.asList("tempoross[7]"), handled);
+	}
+
+	@Test
+	public void keywordsEndingTogetherAreAllTried()
+	{
+		List<String> hits = new ArrayList<>();
+		SkillingOutfitChatDispatcher nested = SkillingOutfitChatDispatcher.builder()
+			.rule("Tempoross kill count", "Tempoross kill count was (\\d+)", v -> hits.add("long" + v[0]))
+			.rule("kill count", "kill count is: (\\d+)", v -> hits.add("short" + v[0]))
+			.build();
+
+		assertTrue(nested.dispatch("Tempoross kill count is: 4"));
+		assertEquals(Arrays.asList("short4"), hits);
+	}
+}
@@ -0,0 +1,48 @@
+package com.gimsieder.skillingoutfit;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SkillingOutfitCurrencyLedgerTest
+{
+	@Test
+	public void absoluteReadingsAreLoggedAsDeltas()
+	{
+		SkillingOutfitCurrencyLedger ledger = new SkillingOutfitCurrencyLedger();
+		assertTrue(ledger.set(SkillingOutfitCurrency.MARKS_OF_GRACE, 40, SkillingOutfitCurrencyLedger.SOURCE_CONTAINER));
+		assertTrue(ledger.set(SkillingOutfitCurrency.MARKS_OF_GRACE, 25, SkillingOutfitCurrencyLedger.SOURCE_CONTAINER));
+		assertFalse(ledger.set(SkillingOutfitCurrency.MARKS_OF_GRACE, 25, SkillingOutfitCurrencyLedger.SOURCE_CONTAINER));
+		assertTrue(ledger.apply(SkillingOutfitCurrency.ANIMA_BARK, 150, SkillingOutfitCurrencyLedger.SOURCE_CHAT));
+
+		assertEquals(25, ledger.balance(SkillingOutfitCurrency.MARKS_OF_GRACE));
+		assertEquals(150, ledger.balance(SkillingOutfitCurrency.ANIMA_BARK));
+		assertEquals(3, ledger.getAppended());
+
+		long entry = ledger.logEntry(1);
+		assertEquals(SkillingOutfitCurrency.MARKS_OF_GRACE, SkillingOutfitCurrencyLedger.entryCurrency(entry));
+		assertEquals(SkillingOutfitCurrencyLedger.SOURCE_CONTAINER, SkillingOutfitCurrencyLedger.entrySource(entry));
+		assertEquals(-15, SkillingOutfitCurrencyLedger.entryDelta(entry));
+
+		assertEquals(Arrays.asList("+150 ANIMA_BARK (chat)", "-15 MARKS_OF_GRACE (container)"), ledger.describeRecent(2));
+	}
+
+	@Test
+	public void logKeepsTheMostRecentEntries()
+	{
+		SkillingOutfitCurrencyLedger ledger = new SkillingOutfitCurrencyLedger();
+		int deltas = SkillingOutfitCurrencyLedger.LOG_CAPACITY + 10;
+		for (int i = 1; i <= deltas; i++)
+			ledger.apply(SkillingOutfitCurrency.ROGUES_DEN_ATTEMPTS, i, SkillingOutfitCurrencyLedger.SOURCE_CHAT);
+
+		assertEquals(deltas, ledger.getAppended());
+		assertEquals(SkillingOutfitCurrencyLedger.LOG_CAPACITY, ledger.logSize());
+		assertEquals(11, SkillingOutfitCurrencyLedger.entryDelta(ledger.logEntry(0)));
+		assertEquals(deltas, SkillingOutfitCurrencyLedger.entryDelta(ledger.logEntry(ledger.logSize() - 1)));
+		assertEquals((long) deltas * (deltas + 1) / 2, ledger.balance(SkillingOutfitCurrency.ROGUES_DEN_ATTEMPTS));
+	}
+}